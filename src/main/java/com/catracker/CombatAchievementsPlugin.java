@@ -27,13 +27,20 @@ package com.catracker;
 import com.google.gson.Gson;
 import com.google.inject.Provides;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.swing.SwingUtilities;
 
 import com.catracker.config.CombatAchievementsConfig;
 import com.catracker.ui.CombatAchievementsPanel;
+import com.catracker.ui.util.IconLoader;
+import com.catracker.util.CatalogCache;
 import com.catracker.util.CombatAchievementsDataLoader;
 import com.catracker.util.ChatMessageUtil;
 import com.catracker.util.CompletionPercentageLoader;
+import com.catracker.util.IoExecutor;
+import com.catracker.util.LoadMetrics;
+import com.catracker.util.PercentageCache;
+import com.catracker.util.RarityHistory;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
@@ -42,6 +49,7 @@ import net.runelite.api.GameState;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.config.ConfigManager;
@@ -91,6 +99,11 @@ public class CombatAchievementsPlugin extends Plugin
 	@Inject
 	private OkHttpClient okHttpClient;
 
+	@Getter
+	@Inject
+	@Named("developerMode")
+	private boolean developerMode;
+
 	@Getter
 	private CombatAchievementsPanel panel;
 
@@ -102,6 +115,15 @@ public class CombatAchievementsPlugin extends Plugin
 
 	private CompletionPercentageLoader completionPercentageLoader;
 
+	@Getter
+	private IoExecutor ioExecutor;
+
+	@Getter
+	private RarityHistory rarityHistory;
+
+	@Getter
+	private LoadMetrics loadMetrics;
+
 	private NavigationButton navigationButton;
 	private boolean hasLoadedThisSession = false;
 
@@ -111,10 +133,25 @@ public class CombatAchievementsPlugin extends Plugin
 		hasLoadedThisSession = false;
 		log.debug("Combat Achievements Tracker starting up...");
 
-		dataLoader = new CombatAchievementsDataLoader(client, clientThread);
+		loadMetrics = new LoadMetrics();
+
+		ioExecutor = new IoExecutor(loadMetrics);
+		rarityHistory = new RarityHistory();
+		ioExecutor.runAsync(IconLoader::preload);
+
+		CatalogCache catalogCache = new CatalogCache(ioExecutor);
+		catalogCache.loadAsync();
+
+		dataLoader = new CombatAchievementsDataLoader(client, clientThread, catalogCache, config, loadMetrics);
 		chatMessageUtil = new ChatMessageUtil(chatMessageManager, client);
-		completionPercentageLoader = new CompletionPercentageLoader(okHttpClient);
+		completionPercentageLoader = new CompletionPercentageLoader(okHttpClient, new PercentageCache(), rarityHistory, ioExecutor, loadMetrics);
+		completionPercentageLoader.prefetch();
 		panel = new CombatAchievementsPanel(this);
+		dataLoader.setCompletionChangeListener((state, changedTaskIds) ->
+			SwingUtilities.invokeLater(() -> panel.applyCompletionChanges(state, changedTaskIds)));
+		completionPercentageLoader.setTableChangeListener(percentages ->
+			SwingUtilities.invokeLater(() -> panel.applyPercentageTable(percentages)));
+		completionPercentageLoader.startBackgroundRefresh();
 
 		BufferedImage icon = ImageUtil.loadImageResource(CombatAchievementsPlugin.class, "combat_achievements_icon.png");
 
@@ -133,6 +170,15 @@ public class CombatAchievementsPlugin extends Plugin
 	{
 		super.shutDown();
 		clientToolbar.removeNavigation(navigationButton);
+
+		completionPercentageLoader.cancel();
+		panel.shutdown();
+		ioExecutor.shutdown();
+
+		if (developerMode)
+		{
+			loadMetrics.logSummary();
+		}
 	}
 
 
@@ -141,13 +187,26 @@ public class CombatAchievementsPlugin extends Plugin
 	{
 		log.debug("Game state changed: {}", gameStateChanged.getGameState());
 
+		if (gameStateChanged.getGameState() == GameState.LOGGING_IN)
+		{
+			// Overlap the wiki request with login and the catalog decode
+			completionPercentageLoader.prefetch();
+		}
+
 		if (gameStateChanged.getGameState() == GameState.LOGIN_SCREEN ||
 			gameStateChanged.getGameState() == GameState.CONNECTION_LOST)
 		{
 			hasLoadedThisSession = false;
+			dataLoader.clearCompletionSnapshot();
 		}
 	}
 
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged varbitChanged)
+	{
+		dataLoader.handleVarpChanged(varbitChanged.getVarpId());
+	}
+
 	@Subscribe
 	public void onGameTick(GameTick gameTick)
 	{
@@ -186,25 +245,21 @@ public class CombatAchievementsPlugin extends Plugin
 	{
 		log.debug("Combat achievement completed: {}", message);
 
-		SwingUtilities.invokeLater(() ->
+		// The completed row is patched from the varp diff, which is queued to the EDT while the
+		// varp change is processed. Defer past the current client frame so the progress message
+		// is built from the patched state.
+		clientThread.invokeLater(() -> SwingUtilities.invokeLater(() ->
 		{
 			if (panel != null)
 			{
-				// Always refresh data when achievement is completed to update UI
-				dataLoader.requestManualRefresh(achievements ->
+				panel.onAchievementCompleted(message);
+
+				if (config.showGoalProgress())
 				{
-					SwingUtilities.invokeLater(() ->
-					{
-						panel.onAchievementCompleted(message);
-
-						if (config.showGoalProgress())
-						{
-							chatMessageUtil.sendProgressMessage(achievements, getTierGoal());
-						}
-					});
-				});
+					chatMessageUtil.sendProgressMessage(panel.getCompletionState(), panel.getCompletionMasks(), getTierGoal());
+				}
 			}
-		});
+		}));
 	}
 
 	@Subscribe
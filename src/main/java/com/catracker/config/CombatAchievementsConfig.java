@@ -28,6 +28,7 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
 
 @ConfigGroup("combatachievements")
 public interface CombatAchievementsConfig extends Config
@@ -55,6 +56,14 @@ public interface CombatAchievementsConfig extends Config
 	)
 	String notificationSection = "notifications";
 
+	@ConfigSection(
+		name = "Performance",
+		description = "Configure how achievement data is loaded",
+		position = 3,
+		closedByDefault = true
+	)
+	String performanceSection = "performance";
+
 	@ConfigItem(
 		keyName = "tierGoal",
 		name = "Set Your Current Goal",
@@ -117,6 +126,35 @@ public interface CombatAchievementsConfig extends Config
 		return true;
 	}
 
+	// Performance
+	@ConfigItem(
+		keyName = "sliceCatalogDecode",
+		name = "Spread Decode Over Ticks",
+		description = "Decode task definitions over several game ticks instead of in a single client frame",
+		section = performanceSection,
+		position = 0
+	)
+	default boolean sliceCatalogDecode()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "decodeBudgetNanos",
+		name = "Decode Budget Per Tick (ns)",
+		description = "Maximum time spent decoding task definitions on each game tick when spreading the decode over ticks",
+		section = performanceSection,
+		position = 1
+	)
+	@Range(
+		min = 100_000,
+		max = 50_000_000
+	)
+	default int decodeBudgetNanos()
+	{
+		return 1_000_000;
+	}
+
 	enum TierGoal
 	{
 		TIER_AUTO("Auto"),
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import net.runelite.api.EnumComposition;
+
+/**
+ * Boss names decoded once from the boss enum into a dense table indexed by boss id.
+ * Names are interned so every task for a boss shares the same instance.
+ */
+public class BossNameTable
+{
+	public static final String UNKNOWN = "Unknown";
+	public static final BossNameTable EMPTY = new BossNameTable(new String[0]);
+
+	private final String[] names;
+	private final String[] lowerCaseNames;
+
+	private BossNameTable(String[] names)
+	{
+		this.names = names;
+		this.lowerCaseNames = new String[names.length];
+		for (int i = 0; i < names.length; i++)
+		{
+			if (names[i] != null)
+			{
+				lowerCaseNames[i] = names[i].toLowerCase().intern();
+			}
+		}
+	}
+
+	public static BossNameTable decode(EnumComposition bossEnum)
+	{
+		if (bossEnum == null)
+		{
+			return EMPTY;
+		}
+		return decode(bossEnum.getKeys(), bossEnum.getStringVals());
+	}
+
+	/**
+	 * Build the table from the boss enum's keys and values, copied off the client thread
+	 */
+	public static BossNameTable decode(int[] keys, String[] values)
+	{
+		int maxKey = -1;
+		for (int key : keys)
+		{
+			maxKey = Math.max(maxKey, key);
+		}
+
+		String[] names = new String[maxKey + 1];
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (keys[i] >= 0 && values[i] != null)
+			{
+				names[keys[i]] = values[i].intern();
+			}
+		}
+		return new BossNameTable(names);
+	}
+
+	/**
+	 * @return the boss name, or {@link #UNKNOWN} if the id is not in the table
+	 */
+	public String getName(int bossId)
+	{
+		if (bossId < 0 || bossId >= names.length || names[bossId] == null)
+		{
+			return UNKNOWN;
+		}
+		return names[bossId];
+	}
+
+	/**
+	 * @return the lower case boss name for searching, or an empty string if the id is not in the table
+	 */
+	public String getLowerCaseName(int bossId)
+	{
+		if (bossId < 0 || bossId >= lowerCaseNames.length || lowerCaseNames[bossId] == null)
+		{
+			return "";
+		}
+		return lowerCaseNames[bossId];
+	}
+
+	public boolean contains(int bossId)
+	{
+		return bossId >= 0 && bossId < names.length && names[bossId] != null;
+	}
+
+	/**
+	 * @return one past the highest boss id in the table
+	 */
+	public int size()
+	{
+		return names.length;
+	}
+}
@@ -28,47 +28,75 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 /**
- * Represents a single Combat Achievement
+ * Represents a single Combat Achievement: a shared {@link TaskDefinition} plus the progress
+ * of the account currently logged in. Instances are owned by a {@link TaskCatalog} and reused
+ * across refreshes and account switches; only the progress fields are rewritten.
  */
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class CombatAchievement
 {
+	private final TaskDefinition definition;
+
 	@EqualsAndHashCode.Include
 	private final int id;
 
-	private final String name;
-	private final String description;
-	private final String tier; // Easy, Medium, Hard, Elite, Master
 	private final int points;
 
 	private boolean completed;
 	private boolean tracked;
 	private long completedTimestamp;
 
-	private String bossName;
-	private String type; // Kill Count, Perfection, Restriction, Mechanical, etc.
 	private int userDifficulty; // 1-5 user assigned difficulty
 	private Double completionPercentage; // Wiki completion percentage
 	private String wikiUrl;
 
-	public CombatAchievement(int id, String name, String bossName, String type, String description, String tier, int points, boolean completed, boolean tracked)
+	public CombatAchievement(TaskDefinition definition)
 	{
-		this.id = id;
-		this.name = name;
-		this.bossName = bossName;
-		this.type = type;
-		this.description = description;
-		this.tier = tier;
-		this.points = points;
-		this.completed = completed;
-		this.tracked = tracked;
-		this.completedTimestamp = completed ? System.currentTimeMillis() : 0;
+		this.definition = definition;
+		this.id = definition.getId();
+		this.points = TierLevel.fromString(definition.getTier()).getBasePoints();
 
 		// Set defaults
 		this.userDifficulty = 0; // Medium difficulty by default
 	}
 
+	public String getName()
+	{
+		return definition.getName();
+	}
+
+	public String getDescription()
+	{
+		return definition.getDescription();
+	}
+
+	/**
+	 * Easy, Medium, Hard, Elite, Master or Grandmaster
+	 */
+	public String getTier()
+	{
+		return definition.getTier();
+	}
+
+	/**
+	 * Kill Count, Perfection, Restriction, Mechanical, etc.
+	 */
+	public String getType()
+	{
+		return definition.getType();
+	}
+
+	public int getBossId()
+	{
+		return definition.getBossId();
+	}
+
+	public String getBossName()
+	{
+		return definition.getBossName();
+	}
+
 	/**
 	 * Mark this achievement as completed
 	 */
@@ -78,12 +106,22 @@ public class CombatAchievement
 		this.completedTimestamp = System.currentTimeMillis();
 	}
 
+	/**
+	 * Reset the progress fields before applying another account's progress
+	 */
+	void resetProgress(boolean completed)
+	{
+		this.completed = completed;
+		this.completedTimestamp = completed ? System.currentTimeMillis() : 0;
+		this.tracked = false;
+	}
+
 	/**
 	 * Get the tier as an enum for easier comparison
 	 */
 	public TierLevel getTierLevel()
 	{
-		return TierLevel.fromString(tier);
+		return TierLevel.fromString(getTier());
 	}
 
 	/**
@@ -91,7 +129,7 @@ public class CombatAchievement
 	 */
 	public java.awt.Color getTierColor()
 	{
-		switch (tier.toLowerCase())
+		switch (getTier().toLowerCase())
 		{
 			case "easy":
 				return new java.awt.Color(205, 133, 63);  // Peru/Sandy brown
@@ -121,10 +159,11 @@ public class CombatAchievement
 		}
 
 		String term = searchTerm.toLowerCase();
-		return name.toLowerCase().contains(term) ||
-			description.toLowerCase().contains(term) ||
+		String bossName = getBossName();
+		return getName().toLowerCase().contains(term) ||
+			getDescription().toLowerCase().contains(term) ||
 			(bossName != null && bossName.toLowerCase().contains(term)) ||
-			tier.toLowerCase().contains(term);
+			getTier().toLowerCase().contains(term);
 	}
 
 	/**
@@ -138,7 +177,7 @@ public class CombatAchievement
 		}
 
 		// Generate default wiki URL
-		String encodedName = name.replace(" ", "_").replace("'", "%27");
+		String encodedName = getName().replace(" ", "_").replace("'", "%27");
 		return "https://oldschool.runescape.wiki/w/" + encodedName;
 	}
 
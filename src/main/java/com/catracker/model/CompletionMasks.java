@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed task masks per tier and per boss, so completion aggregates are a popcount over
+ * {@link CompletionState#WORD_COUNT} words instead of a scan over every achievement.
+ */
+public final class CompletionMasks
+{
+	// Must be initialized before EMPTY, which is built from it
+	private static final CombatAchievement.TierLevel[] TIERS = CombatAchievement.TierLevel.values();
+
+	public static final CompletionMasks EMPTY = build(Collections.emptyList());
+
+	private final int[][] tierMasks;
+	private final int[][] bossMasks;
+	private final int[] bossTaskCounts;
+	private final int taskCount;
+	private final int totalPoints;
+
+	private CompletionMasks(int[][] tierMasks, int[][] bossMasks, int[] bossTaskCounts, int taskCount, int totalPoints)
+	{
+		this.tierMasks = tierMasks;
+		this.bossMasks = bossMasks;
+		this.bossTaskCounts = bossTaskCounts;
+		this.taskCount = taskCount;
+		this.totalPoints = totalPoints;
+	}
+
+	public static CompletionMasks build(List<CombatAchievement> achievements)
+	{
+		int[][] tierMasks = new int[TIERS.length][];
+		for (int i = 0; i < TIERS.length; i++)
+		{
+			tierMasks[i] = CompletionState.newMask();
+		}
+
+		int maxBossId = -1;
+		for (CombatAchievement achievement : achievements)
+		{
+			maxBossId = Math.max(maxBossId, achievement.getBossId());
+		}
+		int[][] bossMasks = new int[maxBossId + 1][];
+		int[] bossTaskCounts = new int[maxBossId + 1];
+
+		int totalPoints = 0;
+		for (CombatAchievement achievement : achievements)
+		{
+			int id = achievement.getId();
+			CompletionState.setBit(tierMasks[achievement.getTierLevel().ordinal()], id);
+			totalPoints += achievement.getPoints();
+
+			int bossId = achievement.getBossId();
+			if (bossId >= 0)
+			{
+				if (bossMasks[bossId] == null)
+				{
+					bossMasks[bossId] = CompletionState.newMask();
+				}
+				CompletionState.setBit(bossMasks[bossId], id);
+				bossTaskCounts[bossId]++;
+			}
+		}
+
+		return new CompletionMasks(tierMasks, bossMasks, bossTaskCounts, achievements.size(), totalPoints);
+	}
+
+	public int getTaskCount()
+	{
+		return taskCount;
+	}
+
+	public int getTotalPoints()
+	{
+		return totalPoints;
+	}
+
+	public int getCompletedCount(CompletionState state, CombatAchievement.TierLevel tier)
+	{
+		return state.countCompleted(tierMasks[tier.ordinal()]);
+	}
+
+	public int getCompletedPoints(CompletionState state)
+	{
+		int points = 0;
+		for (CombatAchievement.TierLevel tier : TIERS)
+		{
+			points += state.countCompleted(tierMasks[tier.ordinal()]) * tier.getBasePoints();
+		}
+		return points;
+	}
+
+	/**
+	 * @return the completed points of the tasks in the filter mask
+	 */
+	public int getCompletedPoints(CompletionState state, int[] filter)
+	{
+		int points = 0;
+		for (CombatAchievement.TierLevel tier : TIERS)
+		{
+			points += state.countCompleted(tierMasks[tier.ordinal()], filter) * tier.getBasePoints();
+		}
+		return points;
+	}
+
+	/**
+	 * @return the total points of the tasks in the filter mask
+	 */
+	public int getPoints(int[] filter)
+	{
+		int points = 0;
+		for (CombatAchievement.TierLevel tier : TIERS)
+		{
+			points += CompletionState.count(tierMasks[tier.ordinal()], filter) * tier.getBasePoints();
+		}
+		return points;
+	}
+
+	/**
+	 * @return one past the highest boss id with tasks
+	 */
+	public int getBossIdLimit()
+	{
+		return bossMasks.length;
+	}
+
+	public int getBossTaskCount(int bossId)
+	{
+		return bossId >= 0 && bossId < bossTaskCounts.length ? bossTaskCounts[bossId] : 0;
+	}
+
+	public int getBossCompletedCount(CompletionState state, int bossId)
+	{
+		if (bossId < 0 || bossId >= bossMasks.length || bossMasks[bossId] == null)
+		{
+			return 0;
+		}
+		return state.countCompleted(bossMasks[bossId]);
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import net.runelite.api.Client;
+import net.runelite.api.gameval.VarPlayerID;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the 20 Combat Achievement completion varps. Task N is complete when
+ * bit N % 32 of varp word N / 32 is set.
+ */
+public final class CompletionState
+{
+	private static final int[] VARP_IDS = new int[]{
+		VarPlayerID.CA_TASK_COMPLETED_0, VarPlayerID.CA_TASK_COMPLETED_1,
+		VarPlayerID.CA_TASK_COMPLETED_2, VarPlayerID.CA_TASK_COMPLETED_3,
+		VarPlayerID.CA_TASK_COMPLETED_4, VarPlayerID.CA_TASK_COMPLETED_5,
+		VarPlayerID.CA_TASK_COMPLETED_6, VarPlayerID.CA_TASK_COMPLETED_7,
+		VarPlayerID.CA_TASK_COMPLETED_8, VarPlayerID.CA_TASK_COMPLETED_9,
+		VarPlayerID.CA_TASK_COMPLETED_10, VarPlayerID.CA_TASK_COMPLETED_11,
+		VarPlayerID.CA_TASK_COMPLETED_12, VarPlayerID.CA_TASK_COMPLETED_13,
+		VarPlayerID.CA_TASK_COMPLETED_14, VarPlayerID.CA_TASK_COMPLETED_15,
+		VarPlayerID.CA_TASK_COMPLETED_16, VarPlayerID.CA_TASK_COMPLETED_17,
+		VarPlayerID.CA_TASK_COMPLETED_18, VarPlayerID.CA_TASK_COMPLETED_19
+	};
+
+	public static final int WORD_COUNT = VARP_IDS.length;
+	public static final int MAX_TASKS = WORD_COUNT * 32;
+	public static final CompletionState EMPTY = new CompletionState(new int[WORD_COUNT]);
+
+	private final int[] words;
+
+	private CompletionState(int[] words)
+	{
+		this.words = words;
+	}
+
+	/**
+	 * Read each completion varp exactly once. Must be called on the client thread.
+	 */
+	public static CompletionState read(Client client)
+	{
+		int[] words = new int[WORD_COUNT];
+		for (int i = 0; i < WORD_COUNT; i++)
+		{
+			words[i] = client.getVarpValue(VARP_IDS[i]);
+		}
+		return new CompletionState(words);
+	}
+
+	/**
+	 * @return the word index of a completion varp, or -1 if the varp is not a completion varp
+	 */
+	public static int getWordIndex(int varpId)
+	{
+		for (int i = 0; i < WORD_COUNT; i++)
+		{
+			if (VARP_IDS[i] == varpId)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int getWord(int wordIndex)
+	{
+		return words[wordIndex];
+	}
+
+	public CompletionState withWord(int wordIndex, int value)
+	{
+		int[] newWords = Arrays.copyOf(words, WORD_COUNT);
+		newWords[wordIndex] = value;
+		return new CompletionState(newWords);
+	}
+
+	public boolean isCompleted(int taskId)
+	{
+		return taskId >= 0 && taskId < MAX_TASKS && (words[taskId >>> 5] & (1 << (taskId & 31))) != 0;
+	}
+
+	/**
+	 * @return the number of completed tasks in the mask
+	 */
+	public int countCompleted(int[] mask)
+	{
+		int count = 0;
+		for (int i = 0; i < WORD_COUNT; i++)
+		{
+			count += Integer.bitCount(words[i] & mask[i]);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the number of completed tasks present in both masks
+	 */
+	public int countCompleted(int[] mask, int[] filter)
+	{
+		int count = 0;
+		for (int i = 0; i < WORD_COUNT; i++)
+		{
+			count += Integer.bitCount(words[i] & mask[i] & filter[i]);
+		}
+		return count;
+	}
+
+	public static int[] newMask()
+	{
+		return new int[WORD_COUNT];
+	}
+
+	public static void setBit(int[] mask, int taskId)
+	{
+		if (taskId >= 0 && taskId < MAX_TASKS)
+		{
+			mask[taskId >>> 5] |= 1 << (taskId & 31);
+		}
+	}
+
+	public static void clearBit(int[] mask, int taskId)
+	{
+		if (taskId >= 0 && taskId < MAX_TASKS)
+		{
+			mask[taskId >>> 5] &= ~(1 << (taskId & 31));
+		}
+	}
+
+	/**
+	 * @return the number of tasks in the mask
+	 */
+	public static int count(int[] mask)
+	{
+		int count = 0;
+		for (int word : mask)
+		{
+			count += Integer.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the number of tasks present in both masks
+	 */
+	public static int count(int[] mask, int[] filter)
+	{
+		int count = 0;
+		for (int i = 0; i < WORD_COUNT; i++)
+		{
+			count += Integer.bitCount(mask[i] & filter[i]);
+		}
+		return count;
+	}
+}
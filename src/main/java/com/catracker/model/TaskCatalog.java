@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The decoded task list for one version of the game cache. Built once and shared by every
+ * refresh and account: the definitions, the per-tier/per-boss masks, the search index and the
+ * achievement instances never change, only the progress applied to them does.
+ */
+public final class TaskCatalog
+{
+	public static final TaskCatalog EMPTY = build(0, Collections.emptyList());
+
+	private final int key;
+	private final List<CombatAchievement> achievements;
+	private final CombatAchievement[] achievementsById;
+	private final CompletionMasks masks;
+	private final TaskSearchIndex searchIndex;
+
+	private TaskCatalog(int key, List<CombatAchievement> achievements, CombatAchievement[] achievementsById,
+		CompletionMasks masks, TaskSearchIndex searchIndex)
+	{
+		this.key = key;
+		this.achievements = achievements;
+		this.achievementsById = achievementsById;
+		this.masks = masks;
+		this.searchIndex = searchIndex;
+	}
+
+	public static TaskCatalog build(int key, List<TaskDefinition> definitions)
+	{
+		List<CombatAchievement> achievements = new ArrayList<>(definitions.size());
+		int maxId = -1;
+		for (TaskDefinition definition : definitions)
+		{
+			achievements.add(new CombatAchievement(definition));
+			maxId = Math.max(maxId, definition.getId());
+		}
+
+		CombatAchievement[] achievementsById = new CombatAchievement[maxId + 1];
+		for (CombatAchievement achievement : achievements)
+		{
+			achievementsById[achievement.getId()] = achievement;
+		}
+
+		return new TaskCatalog(key, Collections.unmodifiableList(achievements), achievementsById,
+			CompletionMasks.build(achievements), TaskSearchIndex.build(achievements));
+	}
+
+	/**
+	 * @return the catalog cache key of the struct ids this catalog was decoded from
+	 */
+	public int getKey()
+	{
+		return key;
+	}
+
+	public boolean isEmpty()
+	{
+		return achievements.isEmpty();
+	}
+
+	public List<CombatAchievement> getAchievements()
+	{
+		return achievements;
+	}
+
+	public CompletionMasks getMasks()
+	{
+		return masks;
+	}
+
+	public TaskSearchIndex getSearchIndex()
+	{
+		return searchIndex;
+	}
+
+	/**
+	 * @return the achievement with the given task id, or null if there is none
+	 */
+	public CombatAchievement getAchievement(int id)
+	{
+		return id >= 0 && id < achievementsById.length ? achievementsById[id] : null;
+	}
+
+	/**
+	 * Overwrite the progress of every achievement with the given account's completion state.
+	 * Tracked flags are cleared and must be reapplied from that account's profile config.
+	 */
+	public void applyProgress(CompletionState state)
+	{
+		for (CombatAchievement achievement : achievements)
+		{
+			achievement.resetProgress(state.isCompleted(achievement.getId()));
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable wiki completion percentages resolved for one catalog, indexed by task id. Built on
+ * a worker thread, then applied to the achievements on the EDT, which is the only thread that
+ * writes them.
+ */
+public final class TaskPercentages
+{
+	public static final TaskPercentages EMPTY = new TaskPercentages(new float[0]);
+
+	// NaN for tasks without a percentage
+	private final float[] percentagesById;
+
+	private TaskPercentages(float[] percentagesById)
+	{
+		this.percentagesById = percentagesById;
+	}
+
+	/**
+	 * @param percentagesById percentage per task id, NaN where there is none. Not copied, the
+	 *                        caller must not modify it afterwards.
+	 */
+	public static TaskPercentages wrap(float[] percentagesById)
+	{
+		return new TaskPercentages(percentagesById);
+	}
+
+	/**
+	 * Capture the percentages currently set on the achievements. Must be called on the EDT.
+	 */
+	public static TaskPercentages capture(List<CombatAchievement> achievements)
+	{
+		int maxId = -1;
+		for (CombatAchievement achievement : achievements)
+		{
+			maxId = Math.max(maxId, achievement.getId());
+		}
+
+		float[] percentagesById = new float[maxId + 1];
+		Arrays.fill(percentagesById, Float.NaN);
+		for (CombatAchievement achievement : achievements)
+		{
+			Double percentage = achievement.getCompletionPercentage();
+			if (percentage != null)
+			{
+				percentagesById[achievement.getId()] = percentage.floatValue();
+			}
+		}
+		return new TaskPercentages(percentagesById);
+	}
+
+	/**
+	 * @return the task's percentage, or NaN if it has none
+	 */
+	public float get(int taskId)
+	{
+		return taskId >= 0 && taskId < percentagesById.length ? percentagesById[taskId] : Float.NaN;
+	}
+
+	/**
+	 * Set each achievement's percentage, clearing those without one. Must be called on the EDT.
+	 *
+	 * @return the number of achievements whose percentage changed
+	 */
+	public int applyTo(List<CombatAchievement> achievements)
+	{
+		int changed = 0;
+		for (CombatAchievement achievement : achievements)
+		{
+			float value = get(achievement.getId());
+			Double percentage = Float.isNaN(value) ? null : (double) value;
+			if (!Objects.equals(percentage, achievement.getCompletionPercentage()))
+			{
+				achievement.setCompletionPercentage(percentage);
+				changed++;
+			}
+		}
+		return changed;
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token index over the name, description, boss and type of every task in a catalog, built
+ * once with the catalog. A query is split into terms the same way the text is; each term
+ * matches the tasks with a token starting with it, and the query matches the tasks matching
+ * every term.
+ */
+public final class TaskSearchIndex
+{
+	// Distinct lower case tokens in sorted order, so a prefix covers one contiguous run
+	private final String[] tokens;
+	// Ids of the tasks containing each token, ascending
+	private final int[][] postings;
+	private final BitSet allIds;
+
+	private TaskSearchIndex(String[] tokens, int[][] postings, BitSet allIds)
+	{
+		this.tokens = tokens;
+		this.postings = postings;
+		this.allIds = allIds;
+	}
+
+	static TaskSearchIndex build(List<CombatAchievement> achievements)
+	{
+		Map<String, List<Integer>> idsByToken = new HashMap<>();
+		BitSet allIds = new BitSet();
+		for (CombatAchievement achievement : achievements)
+		{
+			int id = achievement.getId();
+			allIds.set(id);
+			addTokens(idsByToken, id, achievement.getName());
+			addTokens(idsByToken, id, achievement.getDescription());
+			addTokens(idsByToken, id, achievement.getBossName());
+			addTokens(idsByToken, id, achievement.getType());
+		}
+
+		String[] tokens = idsByToken.keySet().toArray(new String[0]);
+		Arrays.sort(tokens);
+		int[][] postings = new int[tokens.length][];
+		for (int i = 0; i < tokens.length; i++)
+		{
+			postings[i] = idsByToken.get(tokens[i]).stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+		}
+		return new TaskSearchIndex(tokens, postings, allIds);
+	}
+
+	/**
+	 * @param query search text, matched case-insensitively
+	 * @return the ids of the matching tasks, every task if the query has no terms
+	 */
+	public BitSet search(String query)
+	{
+		BitSet result = null;
+		for (String term : tokenize(query))
+		{
+			BitSet termIds = matchPrefix(term);
+			if (result == null)
+			{
+				result = termIds;
+			}
+			else
+			{
+				result.and(termIds);
+			}
+
+			if (result.isEmpty())
+			{
+				break;
+			}
+		}
+		return result != null ? result : (BitSet) allIds.clone();
+	}
+
+	private BitSet matchPrefix(String prefix)
+	{
+		BitSet ids = new BitSet();
+		int first = Arrays.binarySearch(tokens, prefix);
+		for (int i = first >= 0 ? first : -first - 1; i < tokens.length && tokens[i].startsWith(prefix); i++)
+		{
+			for (int id : postings[i])
+			{
+				ids.set(id);
+			}
+		}
+		return ids;
+	}
+
+	private static void addTokens(Map<String, List<Integer>> idsByToken, int id, String text)
+	{
+		if (text == null)
+		{
+			return;
+		}
+
+		for (String token : tokenize(text))
+		{
+			idsByToken.computeIfAbsent(token, k -> new ArrayList<>()).add(id);
+		}
+	}
+
+	/**
+	 * Split text into lower case runs of letters and digits, so "TzTok-Jad's" gives
+	 * "tztok", "jad" and "s"
+	 */
+	static List<String> tokenize(String text)
+	{
+		List<String> tokens = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++)
+		{
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start < 0)
+			{
+				start = i;
+			}
+			else if (!wordChar && start >= 0)
+			{
+				tokens.add(text.substring(start, i).toLowerCase());
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.ui;
+
+import com.catracker.CombatAchievementsPlugin;
+import com.catracker.model.CombatAchievement;
+import com.catracker.util.LoadMetrics;
+import net.runelite.client.ui.ColorScheme;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Task list that only has rows for the tasks inside the scroll viewport. Rows scrolled out of
+ * view are rebound to the tasks scrolled in, so filtering or switching tabs never builds the
+ * whole list, however many tasks match.
+ * <p>
+ * Bound rows are keyed by task id, so a task that stays in view across a filter change keeps
+ * its row and is only moved; rows are only rebound for tasks entering the view.
+ */
+public class AchievementListView extends JPanel
+{
+	// Rows kept bound past each edge of the viewport, so short scrolls don't rebind anything
+	private static final int OVERSCAN = 150;
+
+	private final CombatAchievementsPlugin plugin;
+	private final RowHeightCache heights;
+	private final List<CombatAchievementPanel> freeRows = new ArrayList<>();
+	// Task id to the row bound to it
+	private final Map<Integer, CombatAchievementPanel> boundRows = new HashMap<>();
+	private final Set<Integer> expandedIds = new HashSet<>();
+	private final ChangeListener viewportListener = e -> layoutVisibleRows();
+	private List<CombatAchievement> achievements = Collections.emptyList();
+	private Map<Integer, Integer> indexById = Collections.emptyMap();
+	// offsets[i] is the top of row i, offsets[size] the height of the whole list
+	private int[] offsets = new int[1];
+	private int offsetsWidth;
+	private JViewport viewport;
+
+	public AchievementListView(CombatAchievementsPlugin plugin, RowHeightCache heights)
+	{
+		super(null);
+		this.plugin = plugin;
+		this.heights = heights;
+		setBackground(ColorScheme.DARK_GRAY_COLOR);
+		setAlignmentX(Component.CENTER_ALIGNMENT);
+
+		// A tab built while hidden has nothing bound until it is shown
+		addHierarchyListener(e ->
+		{
+			if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing())
+			{
+				layoutVisibleRows();
+			}
+		});
+	}
+
+	/**
+	 * Show a new list of tasks. Rows of tasks still in the list are kept, the rest are released
+	 * on the next layout.
+	 */
+	public void setAchievements(List<CombatAchievement> achievements)
+	{
+		Map<Integer, Integer> newIndexById = new HashMap<>(achievements.size() * 2);
+		for (int i = 0; i < achievements.size(); i++)
+		{
+			newIndexById.put(achievements.get(i).getId(), i);
+		}
+		this.achievements = achievements;
+		this.indexById = newIndexById;
+		expandedIds.retainAll(newIndexById.keySet());
+		if (achievements.isEmpty())
+		{
+			releaseAll();
+		}
+		recomputeOffsets();
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Redraw the task's row if it is bound, an unbound row picks up the change when it is bound
+	 */
+	public void refreshTask(int taskId)
+	{
+		CombatAchievementPanel row = boundRows.get(taskId);
+		if (row != null)
+		{
+			row.refresh();
+		}
+
+		if (expandedIds.contains(taskId))
+		{
+			// An expanded row lists progress and tracking, so its height may have changed
+			heights.invalidateExpanded(taskId);
+			relayout();
+		}
+	}
+
+	public void refreshAll()
+	{
+		for (CombatAchievementPanel row : boundRows.values())
+		{
+			row.refresh();
+		}
+
+		if (!expandedIds.isEmpty())
+		{
+			for (int taskId : expandedIds)
+			{
+				heights.invalidateExpanded(taskId);
+			}
+			relayout();
+		}
+	}
+
+	@Override
+	public Dimension getPreferredSize()
+	{
+		return new Dimension(RowHeightCache.ROW_WIDTH, offsets[offsets.length - 1]);
+	}
+
+	@Override
+	public Dimension getMaximumSize()
+	{
+		return getPreferredSize();
+	}
+
+	@Override
+	public void doLayout()
+	{
+		layoutVisibleRows();
+	}
+
+	@Override
+	public void addNotify()
+	{
+		super.addNotify();
+		viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+		if (viewport != null)
+		{
+			viewport.addChangeListener(viewportListener);
+		}
+	}
+
+	@Override
+	public void removeNotify()
+	{
+		if (viewport != null)
+		{
+			viewport.removeChangeListener(viewportListener);
+			viewport = null;
+		}
+		super.removeNotify();
+	}
+
+	private void layoutVisibleRows()
+	{
+		Rectangle visible = getVisibleRect();
+		if (achievements.isEmpty() || visible.isEmpty())
+		{
+			return;
+		}
+
+		long startTime = System.nanoTime();
+		long allocationStart = LoadMetrics.allocatedBytes();
+		if (rowWidth() != offsetsWidth)
+		{
+			recomputeOffsets();
+		}
+		measureVisibleRows(visible);
+		int first = indexAt(Math.max(0, visible.y - OVERSCAN));
+		int last = indexAt(visible.y + visible.height + OVERSCAN);
+
+		Iterator<Map.Entry<Integer, CombatAchievementPanel>> bound = boundRows.entrySet().iterator();
+		while (bound.hasNext())
+		{
+			Map.Entry<Integer, CombatAchievementPanel> entry = bound.next();
+			Integer index = indexById.get(entry.getKey());
+			if (index == null || index < first || index > last)
+			{
+				release(entry.getValue());
+				bound.remove();
+			}
+		}
+
+		int created = 0;
+		int rebound = 0;
+		int reused = 0;
+		for (int i = first; i <= last; i++)
+		{
+			CombatAchievement achievement = achievements.get(i);
+			CombatAchievementPanel row = boundRows.get(achievement.getId());
+			if (row == null)
+			{
+				if (freeRows.isEmpty())
+				{
+					row = createRow(achievement);
+					created++;
+				}
+				else
+				{
+					row = freeRows.remove(freeRows.size() - 1);
+					row.setVisible(true);
+					rebound++;
+				}
+				row.bind(achievement, expandedIds.contains(achievement.getId()));
+				boundRows.put(achievement.getId(), row);
+			}
+			else if (row.getAchievement() != achievement)
+			{
+				// Same task from a new catalog
+				row.bind(achievement, expandedIds.contains(achievement.getId()));
+				rebound++;
+			}
+			else
+			{
+				// Kept as drawn, progress changes reach it through refreshTask and refreshAll
+				reused++;
+			}
+			row.setBounds(0, offsets[i], getWidth(), offsets[i + 1] - offsets[i]);
+			row.validate();
+		}
+
+		LoadMetrics metrics = plugin.getLoadMetrics();
+		metrics.increment(LoadMetrics.ROWS_CREATED, created);
+		metrics.increment(LoadMetrics.ROWS_REBOUND, rebound);
+		metrics.increment(LoadMetrics.ROWS_REUSED, reused);
+		if (created > 0 || rebound > 0)
+		{
+			metrics.record(LoadMetrics.BIND_ROWS, System.nanoTime() - startTime, LoadMetrics.allocatedSince(allocationStart));
+		}
+	}
+
+	/**
+	 * Replace the estimated heights of the rows in view with measured ones. A correction moves
+	 * the rows below it, which can bring more estimated rows into view, so repeat until every
+	 * row in view has been measured.
+	 */
+	private void measureVisibleRows(Rectangle visible)
+	{
+		int width = rowWidth();
+		boolean corrected = false;
+		boolean measuredAny = true;
+		while (measuredAny)
+		{
+			measuredAny = false;
+			int first = indexAt(Math.max(0, visible.y - OVERSCAN));
+			int last = indexAt(visible.y + visible.height + OVERSCAN);
+			for (int i = first; i <= last; i++)
+			{
+				CombatAchievement achievement = achievements.get(i);
+				boolean expanded = expandedIds.contains(achievement.getId());
+				if (!heights.isMeasured(achievement, expanded, width))
+				{
+					corrected |= heights.measure(achievement, expanded, width) != offsets[i + 1] - offsets[i];
+					measuredAny = true;
+				}
+			}
+
+			if (measuredAny)
+			{
+				recomputeOffsets();
+			}
+		}
+
+		if (corrected)
+		{
+			revalidate();
+			repaint();
+		}
+	}
+
+	private int rowWidth()
+	{
+		// Hidden tabs haven't been sized yet, measure them at the width they will be shown at
+		return getWidth() > 0 ? getWidth() : RowHeightCache.ROW_WIDTH;
+	}
+
+	/**
+	 * @return the index of the row covering the y position, clamped to the list
+	 */
+	private int indexAt(int y)
+	{
+		int low = 0;
+		int high = achievements.size() - 1;
+		while (low < high)
+		{
+			int mid = (low + high + 1) >>> 1;
+			if (offsets[mid] <= y)
+			{
+				low = mid;
+			}
+			else
+			{
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	private void recomputeOffsets()
+	{
+		int width = rowWidth();
+		int[] newOffsets = new int[achievements.size() + 1];
+		for (int i = 0; i < achievements.size(); i++)
+		{
+			CombatAchievement achievement = achievements.get(i);
+			newOffsets[i + 1] = newOffsets[i] + heights.getHeight(achievement, expandedIds.contains(achievement.getId()), width);
+		}
+		offsets = newOffsets;
+		offsetsWidth = width;
+	}
+
+	private void relayout()
+	{
+		recomputeOffsets();
+		revalidate();
+		repaint();
+		layoutVisibleRows();
+	}
+
+	private void onExpansionChanged(CombatAchievementPanel row)
+	{
+		int taskId = row.getAchievement().getId();
+		if (row.isExpanded())
+		{
+			expandedIds.add(taskId);
+		}
+		else
+		{
+			expandedIds.remove(taskId);
+		}
+		relayout();
+	}
+
+	private CombatAchievementPanel createRow(CombatAchievement achievement)
+	{
+		CombatAchievementPanel row = new CombatAchievementPanel(plugin, achievement);
+		row.setExpansionListener(() -> onExpansionChanged(row));
+		add(row);
+		return row;
+	}
+
+	private void release(CombatAchievementPanel row)
+	{
+		// Hidden rather than removed, so recycling a row doesn't invalidate the whole list
+		row.setVisible(false);
+		freeRows.add(row);
+	}
+
+	private void releaseAll()
+	{
+		for (CombatAchievementPanel row : boundRows.values())
+		{
+			release(row);
+		}
+		boundRows.clear();
+	}
+}
@@ -26,6 +26,7 @@ package com.catracker.ui;
 
 import com.catracker.CombatAchievementsPlugin;
 import com.catracker.model.CombatAchievement;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
@@ -38,20 +39,38 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 
+/**
+ * One task row. Rows are recycled by {@link AchievementListView}, so everything that depends on
+ * the task is set in {@link #bind} rather than when the row is created.
+ */
 @Slf4j
 public class CombatAchievementPanel extends JPanel
 {
 	private final CombatAchievementsPlugin plugin;
-	private final CombatAchievement achievement;
+	@Getter
+	private CombatAchievement achievement;
 
 	private final JPanel container = new JPanel(new BorderLayout());
 	private final JPanel body = new JPanel(new BorderLayout());
 	private final JLabel nameLabel = new JLabel();
+	private final JLabel bossTypeLabel = new JLabel();
 	private final JTextArea descriptionArea = new JTextArea();
 	private final JToggleButton trackButton = new JToggleButton();
 	private final JLabel tierIconLabel = new JLabel();
 	private final JPanel expandedPanel = new JPanel();
+	// Built the first time the row is expanded, then only updated in place
+	private JLabel tierValue;
+	private JLabel pointsValue;
+	private JPanel bossRow;
+	private JLabel bossValue;
+	private JPanel typeRow;
+	private JLabel typeValue;
+	private JLabel wikiCompletionValue;
+	private JLabel statusLabel;
+	private JLabel trackedLabel;
 	private boolean isExpanded = false;
+	private MouseAdapter clickAndHoverHandler;
+	private Runnable expansionListener;
 
 	private final JPanel topSection = new JPanel(new BorderLayout());
 	private final JPanel nameLabelPanel = new JPanel(new BorderLayout());
@@ -64,7 +83,43 @@ public class CombatAchievementPanel extends JPanel
 		this.achievement = achievement;
 		createPanel();
 		setupEventHandlers();
-		refresh();
+		bind(achievement, false);
+	}
+
+	/**
+	 * Show another task in this row, replacing everything the previous one set
+	 */
+	public void bind(CombatAchievement achievement, boolean expanded)
+	{
+		this.achievement = achievement;
+		isExpanded = expanded;
+
+		nameLabel.setText(achievement.getName());
+		nameLabel.setForeground(getNameColor());
+		setupTierIcon();
+
+		String bossTypeText = getBossTypeText();
+		bossTypeLabel.setText(bossTypeText);
+		bossTypeLabel.setVisible(bossTypeText != null && !bossTypeText.isEmpty());
+
+		descriptionArea.setText(expanded ? achievement.getDescription() : truncateToTwoLines(achievement.getDescription()));
+		if (expanded)
+		{
+			// Collapsed rows never build or update the expanded content
+			updateExpandedPanel();
+		}
+		expandedPanel.setVisible(expanded);
+
+		updateAllBackgrounds(getBackgroundColor());
+		updateTrackButton();
+	}
+
+	/**
+	 * Called after the user expands or collapses the row, so the list can resize it
+	 */
+	public void setExpansionListener(Runnable expansionListener)
+	{
+		this.expansionListener = expansionListener;
 	}
 
 	private void createPanel()
@@ -83,10 +138,6 @@ public class CombatAchievementPanel extends JPanel
 		nameLabelPanel.setMaximumSize(new Dimension(PluginPanel.PANEL_WIDTH - 60, 20));
 
 		nameLabel.setFont(FontManager.getRunescapeSmallFont());
-		nameLabel.setForeground(getNameColor());
-		nameLabel.setText(achievement.getName());
-
-		setupTierIcon();
 
 		JPanel nameWithIconPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
 		nameWithIconPanel.setBackground(getBackgroundColor());
@@ -102,7 +153,6 @@ public class CombatAchievementPanel extends JPanel
 		trackButton.setPreferredSize(new Dimension(20, 20));
 		trackButton.setMaximumSize(new Dimension(20, 20));
 		trackButton.setMinimumSize(new Dimension(20, 20));
-		updateTrackButton();
 		SwingUtil.removeButtonDecorations(trackButton);
 
 		topRightPanel.add(trackButton);
@@ -114,16 +164,11 @@ public class CombatAchievementPanel extends JPanel
 		centerPanel.setLayout(new BoxLayout(centerPanel, BoxLayout.Y_AXIS));
 		centerPanel.setBackground(getBackgroundColor());
 
-		String bossTypeText = getBossTypeText();
-		if (bossTypeText != null && !bossTypeText.isEmpty())
-		{
-			JLabel bossTypeLabel = new JLabel(bossTypeText);
-			bossTypeLabel.setFont(FontManager.getRunescapeSmallFont());
-			bossTypeLabel.setForeground(Color.LIGHT_GRAY);
-			bossTypeLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-			bossTypeLabel.setBorder(new EmptyBorder(2, 0, 4, 0));
-			centerPanel.add(bossTypeLabel);
-		}
+		bossTypeLabel.setFont(FontManager.getRunescapeSmallFont());
+		bossTypeLabel.setForeground(Color.LIGHT_GRAY);
+		bossTypeLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+		bossTypeLabel.setBorder(new EmptyBorder(2, 0, 4, 0));
+		centerPanel.add(bossTypeLabel);
 
 		JPanel descriptionPanel = new JPanel(new BorderLayout());
 		descriptionPanel.setBackground(getBackgroundColor());
@@ -140,7 +185,6 @@ public class CombatAchievementPanel extends JPanel
 		descriptionArea.setDisabledTextColor(Color.LIGHT_GRAY);
 		descriptionArea.setBorder(null);
 		descriptionArea.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-		descriptionArea.setText(truncateToTwoLines(achievement.getDescription()));
 
 		descriptionPanel.add(descriptionArea, BorderLayout.CENTER);
 		centerPanel.add(descriptionPanel);
@@ -152,7 +196,7 @@ public class CombatAchievementPanel extends JPanel
 
 		container.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
 
-		MouseAdapter clickAndHoverHandler = new MouseAdapter()
+		clickAndHoverHandler = new MouseAdapter()
 		{
 			@Override
 			public void mousePressed(MouseEvent e)
@@ -218,41 +262,70 @@ public class CombatAchievementPanel extends JPanel
 		expandedPanel.setLayout(new BorderLayout());
 		expandedPanel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
 		expandedPanel.setVisible(false);
+	}
 
+	private void buildExpandedPanel()
+	{
 		JPanel contentPanel = new JPanel();
 		contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
 		contentPanel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
 		contentPanel.setBorder(new EmptyBorder(5, 6, 5, 6));
 
-		contentPanel.add(createInfoRow("Tier:", achievement.getTier()));
-		contentPanel.add(createInfoRow("Points:", String.valueOf(achievement.getPoints())));
+		tierValue = new JLabel();
+		pointsValue = new JLabel();
+		bossValue = new JLabel();
+		typeValue = new JLabel();
+		wikiCompletionValue = new JLabel();
+		bossRow = createInfoRow("Boss:", bossValue);
+		typeRow = createInfoRow("Type:", typeValue);
 
-		if (achievement.getBossName() != null && !achievement.getBossName().equals("Unknown"))
-		{
-			contentPanel.add(createInfoRow("Boss:", achievement.getBossName()));
-		}
+		contentPanel.add(createInfoRow("Tier:", tierValue));
+		contentPanel.add(createInfoRow("Points:", pointsValue));
+		contentPanel.add(bossRow);
+		contentPanel.add(typeRow);
+		contentPanel.add(createInfoRow("Wiki Completion%:", wikiCompletionValue));
 
-		if (achievement.getType() != null && !achievement.getType().isEmpty())
-		{
-			contentPanel.add(createInfoRow("Type:", achievement.getType()));
-		}
+		contentPanel.add(Box.createVerticalStrut(5));
 
-		if (achievement.getCompletionPercentage() != null)
-		{
-			String completionText = String.format("%.1f%%", achievement.getCompletionPercentage());
-			contentPanel.add(createInfoRow("Wiki Completion%:", completionText));
-		}
-		else
+		statusLabel = new JLabel();
+		statusLabel.setFont(FontManager.getRunescapeSmallFont());
+		statusLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+		contentPanel.add(statusLabel);
+
+		trackedLabel = new JLabel("Tracked");
+		trackedLabel.setFont(FontManager.getRunescapeSmallFont());
+		trackedLabel.setForeground(new Color(100, 149, 237));
+		trackedLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+		contentPanel.add(trackedLabel);
+
+		addMouseListenerRecursively(contentPanel, clickAndHoverHandler);
+
+		expandedPanel.add(contentPanel, BorderLayout.CENTER);
+	}
+
+	private void updateExpandedPanel()
+	{
+		if (statusLabel == null)
 		{
-			contentPanel.add(createInfoRow("Wiki Completion%:", "Unknown"));
+			buildExpandedPanel();
 		}
 
-		contentPanel.add(Box.createVerticalStrut(5));
+		tierValue.setText(achievement.getTier());
+		pointsValue.setText(String.valueOf(achievement.getPoints()));
+
+		String bossName = achievement.getBossName();
+		boolean hasBoss = bossName != null && !bossName.equals("Unknown");
+		bossValue.setText(hasBoss ? bossName : "");
+		bossRow.setVisible(hasBoss);
+
+		String type = achievement.getType();
+		boolean hasType = type != null && !type.isEmpty();
+		typeValue.setText(hasType ? type : "");
+		typeRow.setVisible(hasType);
+
+		Double completionPercentage = achievement.getCompletionPercentage();
+		wikiCompletionValue.setText(completionPercentage != null ? String.format("%.1f%%", completionPercentage) : "Unknown");
 
-		// Status
-		JLabel statusLabel = new JLabel();
-		statusLabel.setFont(FontManager.getRunescapeSmallFont());
-		statusLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
 		if (achievement.isCompleted())
 		{
 			statusLabel.setText("Status: Completed");
@@ -263,21 +336,10 @@ public class CombatAchievementPanel extends JPanel
 			statusLabel.setText("Status: Incomplete");
 			statusLabel.setForeground(Color.RED);
 		}
-		contentPanel.add(statusLabel);
-
-		if (achievement.isTracked())
-		{
-			JLabel trackedLabel = new JLabel("Tracked");
-			trackedLabel.setFont(FontManager.getRunescapeSmallFont());
-			trackedLabel.setForeground(new Color(100, 149, 237));
-			trackedLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-			contentPanel.add(trackedLabel);
-		}
-
-		expandedPanel.add(contentPanel, BorderLayout.CENTER);
+		trackedLabel.setVisible(achievement.isTracked());
 	}
 
-	private JPanel createInfoRow(String label, String value)
+	private JPanel createInfoRow(String label, JLabel valueComponent)
 	{
 		JPanel row = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
 		row.setBackground(ColorScheme.DARKER_GRAY_COLOR);
@@ -287,7 +349,6 @@ public class CombatAchievementPanel extends JPanel
 		labelComponent.setFont(FontManager.getRunescapeSmallFont());
 		labelComponent.setForeground(Color.LIGHT_GRAY);
 
-		JLabel valueComponent = new JLabel(value);
 		valueComponent.setFont(FontManager.getRunescapeSmallFont());
 		valueComponent.setForeground(Color.WHITE);
 
@@ -571,6 +632,11 @@ public class CombatAchievementPanel extends JPanel
 	private void toggleExpanded()
 	{
 		isExpanded = !isExpanded;
+		if (isExpanded)
+		{
+			updateExpandedPanel();
+			updateAllBackgrounds(ColorScheme.DARK_GRAY_HOVER_COLOR);
+		}
 		expandedPanel.setVisible(isExpanded);
 
 		if (isExpanded)
@@ -584,6 +650,11 @@ public class CombatAchievementPanel extends JPanel
 
 		revalidate();
 		repaint();
+
+		if (expansionListener != null)
+		{
+			expansionListener.run();
+		}
 	}
 
 	private String createTooltip()
@@ -628,16 +699,16 @@ public class CombatAchievementPanel extends JPanel
 		return tooltip.toString();
 	}
 
+	public boolean isExpanded()
+	{
+		return isExpanded;
+	}
+
 	public void refresh()
 	{
 		SwingUtilities.invokeLater(() ->
 		{
-			nameLabel.setText(achievement.getName());
-			nameLabel.setForeground(getNameColor());
-
-			setupTierIcon();
-			updateAllBackgrounds(getBackgroundColor());
-			updateTrackButton();
+			bind(achievement, isExpanded);
 			revalidate();
 			repaint();
 		});
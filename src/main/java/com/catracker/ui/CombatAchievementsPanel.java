@@ -26,12 +26,21 @@ package com.catracker.ui;
 
 import com.catracker.CombatAchievementsPlugin;
 import com.catracker.config.CombatAchievementsConfig;
-import com.catracker.model.BossStats;
 import com.catracker.model.CombatAchievement;
+import com.catracker.model.CompletionMasks;
+import com.catracker.model.CompletionState;
+import com.catracker.model.TaskCatalog;
+import com.catracker.model.TaskPercentages;
 import com.catracker.ui.components.BossGridPanel;
 import com.catracker.ui.components.FilterPanel;
+import com.catracker.ui.components.MetricsPanel;
+import com.catracker.ui.components.RarityHistoryChart;
 import com.catracker.ui.components.StatsPanel;
 import com.catracker.ui.util.IconLoader;
+import com.catracker.util.LoadMetrics;
+import com.catracker.util.PercentageTable;
+import com.catracker.util.RarityHistory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.reflect.TypeToken;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -50,14 +59,21 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class CombatAchievementsPanel extends PluginPanel
 {
+	// Quiet time after a keystroke before the search runs
+	private static final int SEARCH_DEBOUNCE_MILLIS = 150;
+
 	private final CombatAchievementsPlugin plugin;
 
 	private ViewMode currentViewMode = ViewMode.ALL_TASKS;
@@ -88,6 +104,7 @@ public class CombatAchievementsPanel extends PluginPanel
 	private final StatsPanel statsPanel;
 	private final FilterPanel filterPanel;
 	private final BossGridPanel bossGridPanel;
+	private final MetricsPanel metricsPanel;
 
 	private static final ImageIcon LEFT_ARROW;
 	private static final ImageIcon HIDE_ICON;
@@ -110,12 +127,34 @@ public class CombatAchievementsPanel extends PluginPanel
 	}
 
 	private List<CombatAchievement> allAchievements = new ArrayList<>();
+	private TaskCatalog catalog = TaskCatalog.EMPTY;
+	@Getter
+	private CompletionState completionState = CompletionState.EMPTY;
+	@Getter
+	private CompletionMasks completionMasks = CompletionMasks.EMPTY;
+	// The achievements' wiki percentages as of the last change, for searches off the EDT
+	private TaskPercentages percentages = TaskPercentages.EMPTY;
+	private int[] trackedMask = CompletionState.newMask();
 	private List<CombatAchievement> trackedAchievements = new ArrayList<>();
 	private String currentSearchText = "";
-	private final Map<Integer, CombatAchievementPanel> allTasksPanels = new HashMap<>();
-	private final Map<Integer, CombatAchievementPanel> trackedPanels = new HashMap<>();
+	private final RowHeightCache rowHeights;
+	private final AchievementListView allTasksList;
+	private final AchievementListView trackedList;
+	private final AchievementListView bossTasksList;
+	private final List<AchievementListView> listViews;
 	private boolean statsAndFiltersVisible = true;
 
+	private final Timer searchDebounce = new Timer(SEARCH_DEBOUNCE_MILLIS, e -> runSearch());
+	private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(
+		new ThreadFactoryBuilder()
+			.setNameFormat("ca-tracker-search")
+			.setDaemon(true)
+			.build());
+	// Bumped for every search, a worker gives up on its query once it no longer matches
+	private final AtomicInteger searchGeneration = new AtomicInteger();
+	// Bumped whenever the task lists or the progress they are filtered on change
+	private int contentVersion;
+
 	private boolean allTasksDirty = true;
 	private boolean trackedDirty = true;
 	private boolean bossesDirty = true;
@@ -138,6 +177,12 @@ public class CombatAchievementsPanel extends PluginPanel
 		statsPanel = new StatsPanel(plugin);
 		filterPanel = new FilterPanel();
 		bossGridPanel = new BossGridPanel();
+		metricsPanel = plugin.isDeveloperMode() ? new MetricsPanel(plugin.getLoadMetrics()) : null;
+		rowHeights = new RowHeightCache(plugin);
+		allTasksList = new AchievementListView(plugin, rowHeights);
+		trackedList = new AchievementListView(plugin, rowHeights);
+		bossTasksList = new AchievementListView(plugin, rowHeights);
+		listViews = List.of(allTasksList, trackedList, bossTasksList);
 
 		initializeComponents();
 		layoutComponents();
@@ -163,6 +208,7 @@ public class CombatAchievementsPanel extends PluginPanel
 		searchBar.setPreferredSize(new Dimension(0, 30));
 		searchBar.setBackground(ColorScheme.DARKER_GRAY_COLOR);
 		searchBar.setHoverBackgroundColor(ColorScheme.DARK_GRAY_HOVER_COLOR);
+		searchDebounce.setRepeats(false);
 		searchBar.getDocument().addDocumentListener(new DocumentListener()
 		{
 			@Override
@@ -187,8 +233,104 @@ public class CombatAchievementsPanel extends PluginPanel
 
 	private void updateSearchText()
 	{
-		currentSearchText = searchBar.getText().toLowerCase();
-		refreshContent();
+		searchDebounce.restart();
+	}
+
+	/**
+	 * Filter and sort both task lists for the search text on the search thread, against copies
+	 * of the lists and filter settings taken here on the EDT
+	 */
+	private void runSearch()
+	{
+		int generation = searchGeneration.incrementAndGet();
+		int version = contentVersion;
+		TaskFilter filter = createFilter(searchBar.getText().toLowerCase());
+		List<CombatAchievement> allSnapshot = new ArrayList<>(allAchievements);
+		List<CombatAchievement> trackedSnapshot = new ArrayList<>(trackedAchievements);
+		try
+		{
+			searchExecutor.execute(() ->
+			{
+				try
+				{
+					long startTime = System.nanoTime();
+					List<CombatAchievement> allFiltered = filter.apply(allSnapshot, () -> searchGeneration.get() != generation);
+					List<CombatAchievement> trackedFiltered = allFiltered == null ? null
+						: filter.apply(trackedSnapshot, () -> searchGeneration.get() != generation);
+					if (trackedFiltered == null)
+					{
+						plugin.getLoadMetrics().increment(LoadMetrics.SEARCHES_CANCELLED);
+						return;
+					}
+
+					plugin.getLoadMetrics().record(LoadMetrics.SEARCH, System.nanoTime() - startTime);
+					SwingUtilities.invokeLater(() -> applySearchResults(generation, version, filter, allFiltered, trackedFiltered));
+				}
+				catch (RuntimeException e)
+				{
+					// Fall back to filtering on the EDT rather than leaving the old results up
+					log.warn("Search for \"{}\" failed", filter.getSearchText(), e);
+					SwingUtilities.invokeLater(() ->
+					{
+						if (generation == searchGeneration.get())
+						{
+							currentSearchText = filter.getSearchText();
+							refreshContent();
+						}
+					});
+				}
+			});
+		}
+		catch (RejectedExecutionException e)
+		{
+			log.debug("Search rejected, panel is shut down");
+		}
+	}
+
+	private void applySearchResults(int generation, int version, TaskFilter filter,
+		List<CombatAchievement> allFiltered, List<CombatAchievement> trackedFiltered)
+	{
+		if (generation != searchGeneration.get())
+		{
+			plugin.getLoadMetrics().increment(LoadMetrics.SEARCHES_CANCELLED);
+			return;
+		}
+
+		currentSearchText = filter.getSearchText();
+		if (version != contentVersion || !filter.equals(createFilter(currentSearchText)) || selectedAchievement != null)
+		{
+			// The lists or filters changed while searching, or a detail view is open
+			refreshContent();
+			return;
+		}
+
+		showFilteredTasks(ViewMode.ALL_TASKS, allFiltered);
+		showFilteredTasks(ViewMode.TRACKED_TASKS, trackedFiltered);
+		bossesDirty = true;
+		if (currentViewMode == ViewMode.BOSSES)
+		{
+			refreshContent(true);
+		}
+		else
+		{
+			updateStats();
+		}
+	}
+
+	private TaskFilter createFilter(String searchText)
+	{
+		return new TaskFilter(searchText, filterPanel.getSelectedTiers(), filterPanel.getSelectedStatusFilter(),
+			filterPanel.getSelectedTypeFilter(), filterPanel.getSelectedSortFilter(), filterPanel.isSortAscending(),
+			catalog.getSearchIndex(), completionState, percentages);
+	}
+
+	/**
+	 * Stop the search thread, pending searches are dropped
+	 */
+	public void shutdown()
+	{
+		searchDebounce.stop();
+		searchExecutor.shutdownNow();
 	}
 
 	private void setupTabButtons()
@@ -366,6 +508,10 @@ public class CombatAchievementsPanel extends PluginPanel
 
 		add(fixedContent, BorderLayout.NORTH);
 		add(cardPanel, BorderLayout.CENTER);
+		if (metricsPanel != null)
+		{
+			add(metricsPanel, BorderLayout.SOUTH);
+		}
 	}
 
 	private void setupEventHandlers()
@@ -420,28 +566,16 @@ public class CombatAchievementsPanel extends PluginPanel
 	 */
 	private void rebuildTabContentSync(ViewMode viewMode)
 	{
+		long startTime = System.nanoTime();
+		long allocationStart = LoadMetrics.allocatedBytes();
 		switch (viewMode)
 		{
 			case ALL_TASKS:
-				allTasksContainer.removeAll();
-				allTasksPanels.clear();
-				List<CombatAchievement> allFiltered = getFilteredAchievements(allAchievements);
-				displayAchievementPanels(allTasksContainer, allFiltered, "No achievements match current filters", allTasksPanels);
-				allTasksContainer.revalidate();
-				allTasksContainer.repaint();
-				allTasksDirty = false;
-				SwingUtilities.invokeLater(() -> allTasksScrollPane.getVerticalScrollBar().setValue(0));
+				showFilteredTasks(ViewMode.ALL_TASKS, getFilteredAchievements(allAchievements));
 				break;
 
 			case TRACKED_TASKS:
-				trackedContainer.removeAll();
-				trackedPanels.clear();
-				List<CombatAchievement> trackedFiltered = getFilteredAchievements(trackedAchievements);
-				displayAchievementPanels(trackedContainer, trackedFiltered, "No tracked achievements match current filters", trackedPanels);
-				trackedContainer.revalidate();
-				trackedContainer.repaint();
-				trackedDirty = false;
-				SwingUtilities.invokeLater(() -> trackedScrollPane.getVerticalScrollBar().setValue(0));
+				showFilteredTasks(ViewMode.TRACKED_TASKS, getFilteredAchievements(trackedAchievements));
 				break;
 
 			case BOSSES:
@@ -460,6 +594,31 @@ public class CombatAchievementsPanel extends PluginPanel
 				SwingUtilities.invokeLater(() -> bossesScrollPane.getVerticalScrollBar().setValue(0));
 				break;
 		}
+		plugin.getLoadMetrics().record(LoadMetrics.REBUILD_TAB, System.nanoTime() - startTime, LoadMetrics.allocatedSince(allocationStart));
+	}
+
+	/**
+	 * Swap an already filtered list into the All or Tracked tab, scrolled to the top
+	 */
+	private void showFilteredTasks(ViewMode viewMode, List<CombatAchievement> filtered)
+	{
+		boolean allTasks = viewMode == ViewMode.ALL_TASKS;
+		JPanel container = allTasks ? allTasksContainer : trackedContainer;
+		JScrollPane scrollPane = allTasks ? allTasksScrollPane : trackedScrollPane;
+		container.removeAll();
+		if (allTasks)
+		{
+			displayAchievementPanels(container, filtered, "No achievements match current filters", allTasksList);
+			allTasksDirty = false;
+		}
+		else
+		{
+			displayAchievementPanels(container, filtered, "No tracked achievements match current filters", trackedList);
+			trackedDirty = false;
+		}
+		container.revalidate();
+		container.repaint();
+		SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(0));
 	}
 
 	private void selectBoss(String bossName)
@@ -470,14 +629,26 @@ public class CombatAchievementsPanel extends PluginPanel
 		refreshContent(true);
 	}
 
-	public void updateAchievements(List<CombatAchievement> newAchievements)
+	public void updateAchievements(TaskCatalog newCatalog, CompletionState newCompletionState)
 	{
-		log.debug("updateAchievements called with {} achievements", newAchievements.size());
+		log.debug("updateAchievements called with {} achievements", newCatalog.getAchievements().size());
 		SwingUtilities.invokeLater(() ->
 		{
-			allAchievements.clear();
-			allAchievements.addAll(newAchievements);
+			// The catalog and its achievements are reused across refreshes, only progress changes
+			if (newCatalog != catalog)
+			{
+				catalog = newCatalog;
+				rowHeights.clear();
+				allAchievements.clear();
+				allAchievements.addAll(catalog.getAchievements());
+				completionMasks = catalog.getMasks();
+			}
+			completionState = newCompletionState;
+			percentages = TaskPercentages.capture(allAchievements);
+			contentVersion++;
 			loadTrackedAchievements();
+			// Rows that stay in the rebuilt lists are kept as they are, so redraw them for the new progress
+			refreshAllRows();
 			buildAllTabs();
 		});
 	}
@@ -625,18 +796,18 @@ public class CombatAchievementsPanel extends PluginPanel
 	{
 		SwingUtilities.invokeLater(() ->
 		{
+			long startTime = System.nanoTime();
+			long allocationStart = LoadMetrics.allocatedBytes();
 			allTasksContainer.removeAll();
-			allTasksPanels.clear();
 			List<CombatAchievement> allFiltered = getFilteredAchievements(allAchievements);
-			displayAchievementPanels(allTasksContainer, allFiltered, "No achievements match current filters", allTasksPanels);
+			displayAchievementPanels(allTasksContainer, allFiltered, "No achievements match current filters", allTasksList);
 			allTasksContainer.revalidate();
 			allTasksContainer.repaint();
 			allTasksDirty = false;
 
 			trackedContainer.removeAll();
-			trackedPanels.clear();
 			List<CombatAchievement> trackedFiltered = getFilteredAchievements(trackedAchievements);
-			displayAchievementPanels(trackedContainer, trackedFiltered, "No tracked achievements match current filters", trackedPanels);
+			displayAchievementPanels(trackedContainer, trackedFiltered, "No tracked achievements match current filters", trackedList);
 			trackedContainer.revalidate();
 			trackedContainer.repaint();
 			trackedDirty = false;
@@ -648,12 +819,17 @@ public class CombatAchievementsPanel extends PluginPanel
 			String sortOption = filterPanel.getSelectedSortFilter();
 			boolean sortAscending = filterPanel.isSortAscending();
 			Map<String, Boolean> selectedTiers = filterPanel.getSelectedTiers();
-			bossGridPanel.displayBossGrid(allAchievements, currentSearchText, statusFilter, typeFilter, sortOption, sortAscending, selectedTiers);
+			bossGridPanel.displayBossGrid(allAchievements, plugin.getDataLoader().getBossNameTable(), completionState, completionMasks, currentSearchText, statusFilter, typeFilter, sortOption, sortAscending, selectedTiers);
 			bossesContainer.revalidate();
 			bossesContainer.repaint();
 			bossesDirty = false;
 
 			updateStats();
+			plugin.getLoadMetrics().record(LoadMetrics.BUILD_ALL_TABS, System.nanoTime() - startTime, LoadMetrics.allocatedSince(allocationStart));
+			if (metricsPanel != null)
+			{
+				metricsPanel.refresh();
+			}
 
 			SwingUtilities.invokeLater(() ->
 			{
@@ -672,7 +848,7 @@ public class CombatAchievementsPanel extends PluginPanel
 		String sortOption = filterPanel.getSelectedSortFilter();
 		boolean sortAscending = filterPanel.isSortAscending();
 		Map<String, Boolean> selectedTiers = filterPanel.getSelectedTiers();
-		bossGridPanel.displayBossGrid(allAchievements, currentSearchText, statusFilter, typeFilter, sortOption, sortAscending, selectedTiers);
+		bossGridPanel.displayBossGrid(allAchievements, plugin.getDataLoader().getBossNameTable(), completionState, completionMasks, currentSearchText, statusFilter, typeFilter, sortOption, sortAscending, selectedTiers);
 	}
 
 	private void displayBossAchievements(JPanel container)
@@ -688,7 +864,7 @@ public class CombatAchievementsPanel extends PluginPanel
 			.collect(Collectors.toList());
 
 		List<CombatAchievement> filteredAchievements = getFilteredAchievements(bossAchievements);
-		displayAchievementPanels(container, filteredAchievements, "No achievements found for " + selectedBoss + " given current filter settings", null);
+		displayAchievementPanels(container, filteredAchievements, "No achievements found for " + selectedBoss + " given current filter settings", bossTasksList);
 	}
 
 	private void displayAchievementDetail(JPanel container)
@@ -761,6 +937,10 @@ public class CombatAchievementsPanel extends PluginPanel
 			detailPanel.add(createInfoRow("Wiki Completion%:", "Unknown"));
 		}
 
+		RarityHistoryChart historyChart = new RarityHistoryChart();
+		detailPanel.add(historyChart);
+		loadRarityHistory(selectedAchievement, historyChart);
+
 		detailPanel.add(Box.createVerticalStrut(5));
 
 		JLabel statusLabel = new JLabel();
@@ -809,6 +989,19 @@ public class CombatAchievementsPanel extends PluginPanel
 		container.add(outerPanel);
 	}
 
+	/**
+	 * Read the task's history off the EDT and fill in the chart when it arrives
+	 */
+	private void loadRarityHistory(CombatAchievement achievement, RarityHistoryChart historyChart)
+	{
+		int taskId = achievement.getId();
+		plugin.getIoExecutor().runAsync(() ->
+		{
+			RarityHistory.Series series = plugin.getRarityHistory().read(taskId);
+			SwingUtilities.invokeLater(() -> historyChart.setSeries(series));
+		});
+	}
+
 	private void openWikiForAchievement(CombatAchievement achievement)
 	{
 		try
@@ -844,19 +1037,19 @@ public class CombatAchievementsPanel extends PluginPanel
 	private void displayAllTasksList(JPanel container)
 	{
 		List<CombatAchievement> filteredAchievements = getFilteredAchievements(allAchievements);
-		allTasksPanels.clear();
-		displayAchievementPanels(container, filteredAchievements, "No achievements match current filters", allTasksPanels);
+		displayAchievementPanels(container, filteredAchievements, "No achievements match current filters", allTasksList);
 	}
 
 	private void displayTrackedList(JPanel container)
 	{
 		List<CombatAchievement> filteredAchievements = getFilteredAchievements(trackedAchievements);
-		trackedPanels.clear();
-		displayAchievementPanels(container, filteredAchievements, "No tracked achievements match current filters", trackedPanels);
+		displayAchievementPanels(container, filteredAchievements, "No tracked achievements match current filters", trackedList);
 	}
 
-	private void displayAchievementPanels(JPanel container, List<CombatAchievement> achievements, String emptyMessage, Map<Integer, CombatAchievementPanel> panelMap)
+	private void displayAchievementPanels(JPanel container, List<CombatAchievement> achievements, String emptyMessage, AchievementListView listView)
 	{
+		// Rows are only created for the part of the list scrolled into view
+		listView.setAchievements(achievements);
 		if (achievements.isEmpty())
 		{
 			JTextArea emptyLabel = new JTextArea(emptyMessage);
@@ -873,209 +1066,24 @@ public class CombatAchievementsPanel extends PluginPanel
 		}
 		else
 		{
-			for (CombatAchievement achievement : achievements)
-			{
-				try
-				{
-					CombatAchievementPanel panel = new CombatAchievementPanel(plugin, achievement);
-					if (panelMap != null)
-					{
-						panelMap.put(achievement.getId(), panel);
-					}
-
-					panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, panel.getPreferredSize().height));
-					panel.setAlignmentX(Component.CENTER_ALIGNMENT);
-					container.add(panel);
-				}
-				catch (Exception e)
-				{
-					log.error("Error creating panel for achievement: {}", achievement.getName(), e);
-				}
-			}
+			container.add(listView);
 		}
 	}
 
 	private List<CombatAchievement> getFilteredAchievements(List<CombatAchievement> sourceList)
 	{
-		List<CombatAchievement> filtered = sourceList.stream()
-			.filter(this::matchesFilters)
-			.collect(Collectors.toList());
-
-		String sortOption = filterPanel.getSelectedSortFilter();
-		if (sortOption != null)
-		{
-			switch (sortOption)
-			{
-				case "Tier":
-					if (filterPanel.isSortAscending())
-					{
-						filtered.sort((a, b) -> Integer.compare(a.getTierLevel().getOrder(), b.getTierLevel().getOrder()));
-					}
-					else
-					{
-						filtered.sort((a, b) -> Integer.compare(b.getTierLevel().getOrder(), a.getTierLevel().getOrder()));
-					}
-					break;
-				case "Points":
-					if (filterPanel.isSortAscending())
-					{
-						filtered.sort((a, b) -> Integer.compare(a.getPoints(), b.getPoints()));
-					}
-					else
-					{
-						filtered.sort((a, b) -> Integer.compare(b.getPoints(), a.getPoints()));
-					}
-					break;
-				case "Name":
-					if (filterPanel.isSortAscending())
-					{
-						filtered.sort((a, b) -> a.getName().compareTo(b.getName()));
-					}
-					else
-					{
-						filtered.sort((a, b) -> b.getName().compareTo(a.getName()));
-					}
-					break;
-				case "Completion":
-					if (filterPanel.isSortAscending())
-					{
-						filtered.sort((a, b) -> Boolean.compare(a.isCompleted(), b.isCompleted()));
-					}
-					else
-					{
-						filtered.sort((a, b) -> Boolean.compare(b.isCompleted(), a.isCompleted()));
-					}
-					break;
-				case "Wiki Completion %":
-					filtered.sort((a, b) ->
-					{
-						Double aComp = a.getCompletionPercentage();
-						Double bComp = b.getCompletionPercentage();
-						if (aComp == null && bComp == null) return 0;
-						if (aComp == null) return 1;
-						if (bComp == null) return -1;
-						if (filterPanel.isSortAscending())
-						{
-							return Double.compare(bComp, aComp);
-						}
-						else
-						{
-							return Double.compare(aComp, bComp);
-						}
-					});
-					break;
-				default:
-					filtered.sort((a, b) ->
-					{
-						int tierComparison = Integer.compare(a.getTierLevel().getOrder(), b.getTierLevel().getOrder());
-						return tierComparison == 0 ? a.getName().compareTo(b.getName()) : tierComparison;
-					});
-			}
-		}
-		return filtered;
-	}
-
-	private boolean matchesFilters(CombatAchievement achievement)
-	{
-		if (!currentSearchText.isEmpty() &&
-			!achievement.getName().toLowerCase().contains(currentSearchText) &&
-			!achievement.getDescription().toLowerCase().contains(currentSearchText))
-		{
-			return false;
-		}
-
-		if (!filterPanel.getSelectedTiers().getOrDefault(achievement.getTier(), true))
-		{
-			return false;
-		}
-
-		String selectedStatus = filterPanel.getSelectedStatusFilter();
-		if ("Completed".equals(selectedStatus) && !achievement.isCompleted())
-		{
-			return false;
-		}
-		if ("Incomplete".equals(selectedStatus) && achievement.isCompleted())
-		{
-			return false;
-		}
-
-		String selectedType = filterPanel.getSelectedTypeFilter();
-		if (!"All Types".equals(selectedType))
-		{
-			String achievementType = achievement.getType();
-			if (achievementType == null || !achievementType.equals(selectedType))
-			{
-				return false;
-			}
-		}
-
-		return true;
+		return createFilter(currentSearchText).apply(sourceList);
 	}
 
 	private void updateStats()
 	{
 		if (currentViewMode == ViewMode.BOSSES && selectedBoss == null)
 		{
-			Map<String, BossStats> bossStatsMap = calculateBossStats();
-			statsPanel.updateBossStats(bossStatsMap, allAchievements, trackedAchievements);
+			statsPanel.updateBossStats(completionState, completionMasks, trackedMask, plugin.getDataLoader().getBossNameTable());
 			return;
 		}
 
-		List<CombatAchievement> visibleAchievements;
-		if (currentViewMode == ViewMode.TRACKED_TASKS)
-		{
-			visibleAchievements = trackedAchievements;
-		}
-		else if (selectedBoss != null)
-		{
-			visibleAchievements = allAchievements.stream()
-				.filter(achievement -> selectedBoss.equals(achievement.getBossName()))
-				.collect(Collectors.toList());
-		}
-		else
-		{
-			visibleAchievements = getFilteredAchievements(allAchievements);
-		}
-
-		String viewContext = getViewContext();
-		statsPanel.updateStats(allAchievements, trackedAchievements, visibleAchievements, viewContext);
-	}
-
-	private Map<String, BossStats> calculateBossStats()
-	{
-		Map<String, BossStats> bossStatsMap = new HashMap<>();
-		for (CombatAchievement achievement : allAchievements)
-		{
-			String bossName = achievement.getBossName();
-			if (bossName == null || bossName.equals("Unknown") || bossName.trim().isEmpty())
-			{
-				continue;
-			}
-			bossStatsMap.putIfAbsent(bossName, new BossStats());
-			BossStats stats = bossStatsMap.get(bossName);
-			stats.total++;
-			if (achievement.isCompleted())
-			{
-				stats.completed++;
-			}
-		}
-		return bossStatsMap;
-	}
-
-	private String getViewContext()
-	{
-		if (selectedBoss != null)
-		{
-			return selectedBoss + " tasks";
-		}
-		else if (currentViewMode == ViewMode.TRACKED_TASKS)
-		{
-			return "tracked";
-		}
-		else
-		{
-			return "filtered";
-		}
+		statsPanel.updateStats(completionState, completionMasks, trackedMask);
 	}
 
 	public void saveTrackedAchievements()
@@ -1112,7 +1120,12 @@ public class CombatAchievementsPanel extends PluginPanel
 
 	public void loadTrackedAchievements()
 	{
+		contentVersion++;
 		// Clear tracked list first to avoid duplicates when reloading
+		for (CombatAchievement achievement : trackedAchievements)
+		{
+			achievement.setTracked(false);
+		}
 		trackedAchievements.clear();
 
 		try
@@ -1141,6 +1154,12 @@ public class CombatAchievementsPanel extends PluginPanel
 		{
 			log.debug("config not found or invalid: {}", e.getMessage());
 		}
+
+		trackedMask = CompletionState.newMask();
+		for (CombatAchievement achievement : trackedAchievements)
+		{
+			CompletionState.setBit(trackedMask, achievement.getId());
+		}
 	}
 
 	public void clearAllConfigData()
@@ -1161,9 +1180,142 @@ public class CombatAchievementsPanel extends PluginPanel
 	public void onAchievementCompleted(String message)
 	{
 		log.debug("Achievement completed notification: {}", message);
-		// Reload tracked achievements to sync with updated allAchievements data
-		loadTrackedAchievements();
-		refreshContent();
+	}
+
+	/**
+	 * Patch the completion state of the given task ids in place. Only the affected rows are
+	 * refreshed; tabs are rebuilt only when their content depends on completion.
+	 */
+	public void applyCompletionChanges(CompletionState newCompletionState, int[] changedTaskIds)
+	{
+		completionState = newCompletionState;
+
+		boolean anyChanged = false;
+		for (int taskId : changedTaskIds)
+		{
+			CombatAchievement achievement = catalog.getAchievement(taskId);
+			boolean completed = newCompletionState.isCompleted(taskId);
+			if (achievement == null || achievement.isCompleted() == completed)
+			{
+				continue;
+			}
+
+			if (completed)
+			{
+				achievement.markCompleted();
+			}
+			else
+			{
+				achievement.setCompleted(false);
+			}
+
+			refreshTaskRows(achievement.getId());
+			anyChanged = true;
+		}
+
+		if (!anyChanged)
+		{
+			return;
+		}
+		contentVersion++;
+
+		// Boss progress counts always change, the task lists only when filtered or sorted by completion
+		bossesDirty = true;
+		if (!"All".equals(filterPanel.getSelectedStatusFilter()) || "Completion".equals(filterPanel.getSelectedSortFilter()))
+		{
+			allTasksDirty = true;
+			trackedDirty = true;
+		}
+
+		boolean currentViewDirty = selectedAchievement != null || currentViewMode == ViewMode.BOSSES
+			|| (currentViewMode == ViewMode.ALL_TASKS && allTasksDirty)
+			|| (currentViewMode == ViewMode.TRACKED_TASKS && trackedDirty);
+		if (currentViewDirty)
+		{
+			refreshContent(false);
+		}
+		else
+		{
+			updateStats();
+		}
+	}
+
+	/**
+	 * Patch in wiki completion percentages that arrived after the task list was published
+	 */
+	public void applyCompletionPercentages()
+	{
+		percentages = TaskPercentages.capture(allAchievements);
+		contentVersion++;
+		refreshAllRows();
+
+		refreshAfterPercentageChange(selectedAchievement != null);
+	}
+
+	/**
+	 * Apply a refreshed wiki table, repainting only the rows whose percentage changed
+	 */
+	public void applyPercentageTable(PercentageTable percentages)
+	{
+		int changed = 0;
+		boolean selectedChanged = false;
+		for (CombatAchievement achievement : catalog.getAchievements())
+		{
+			Double percentage = percentages.get(achievement.getId(), achievement.getName());
+			if (Objects.equals(percentage, achievement.getCompletionPercentage()))
+			{
+				continue;
+			}
+
+			achievement.setCompletionPercentage(percentage);
+			refreshTaskRows(achievement.getId());
+			selectedChanged |= achievement == selectedAchievement;
+			changed++;
+		}
+
+		log.debug("Wiki refresh changed {} of {} task percentages", changed, catalog.getAchievements().size());
+		plugin.getLoadMetrics().increment(LoadMetrics.WIKI_ROWS_CHANGED, changed);
+		if (changed > 0)
+		{
+			this.percentages = TaskPercentages.capture(allAchievements);
+			contentVersion++;
+			refreshAfterPercentageChange(selectedChanged);
+		}
+	}
+
+	/**
+	 * Redraw a task's bound row in every list, kept rows are never rebound on their own
+	 */
+	private void refreshTaskRows(int taskId)
+	{
+		for (AchievementListView listView : listViews)
+		{
+			listView.refreshTask(taskId);
+		}
+	}
+
+	private void refreshAllRows()
+	{
+		for (AchievementListView listView : listViews)
+		{
+			listView.refreshAll();
+		}
+	}
+
+	private void refreshAfterPercentageChange(boolean detailChanged)
+	{
+		// The rows repaint themselves, the lists only need rebuilding when ordered by percentage
+		if ("Wiki Completion %".equals(filterPanel.getSelectedSortFilter()))
+		{
+			allTasksDirty = true;
+			trackedDirty = true;
+			bossesDirty = true;
+			refreshContent(false);
+		}
+		else if (detailChanged)
+		{
+			refreshContent(false);
+		}
 	}
 
 	public void addToTracked(CombatAchievement achievement)
@@ -1172,14 +1324,12 @@ public class CombatAchievementsPanel extends PluginPanel
 		if (!trackedAchievements.contains(achievement))
 		{
 			trackedAchievements.add(achievement);
+			contentVersion++;
 			achievement.setTracked(true);
+			CompletionState.setBit(trackedMask, achievement.getId());
 
-			// Refresh the panel in the current view
-			CombatAchievementPanel panel = allTasksPanels.get(achievement.getId());
-			if (panel != null)
-			{
-				panel.refresh();
-			}
+			// Refresh the panel in every view that has it bound
+			refreshTaskRows(achievement.getId());
 
 			// Mark tracked tab as dirty since we added an item
 			trackedDirty = true;
@@ -1194,19 +1344,12 @@ public class CombatAchievementsPanel extends PluginPanel
 		log.debug("removeFromTracked called for: {} (ID: {})", achievement.getName(), achievement.getId());
 		if (trackedAchievements.remove(achievement))
 		{
+			contentVersion++;
 			achievement.setTracked(false);
+			CompletionState.clearBit(trackedMask, achievement.getId());
 
-			// Refresh panels in both views if they exist
-			CombatAchievementPanel allTasksPanel = allTasksPanels.get(achievement.getId());
-			if (allTasksPanel != null)
-			{
-				allTasksPanel.refresh();
-			}
-			CombatAchievementPanel trackedPanel = trackedPanels.get(achievement.getId());
-			if (trackedPanel != null)
-			{
-				trackedPanel.refresh();
-			}
+			// Refresh the panel in every view that has it bound
+			refreshTaskRows(achievement.getId());
 
 			updateStatsOnly();
 			saveTrackedAchievements();
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.ui;
+
+import com.catracker.CombatAchievementsPlugin;
+import com.catracker.model.CombatAchievement;
+import net.runelite.client.ui.PluginPanel;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Row heights for {@link AchievementListView}. Rows that have not been measured yet are given
+ * an estimate, and only rows that reach the viewport are measured off screen with a spare row,
+ * so laying out a long list costs one measurement per visible row rather than one per task.
+ * <p>
+ * Heights are kept per task together with the width they were measured at. Collapsed heights
+ * only depend on the task's text, so they are kept for as long as the catalog is; expanded
+ * heights are dropped whenever the row's progress or tracking changes.
+ */
+class RowHeightCache
+{
+	static final int ROW_WIDTH = PluginPanel.PANEL_WIDTH - 20;
+
+	// Height of a collapsed row with a one line name, used until a row has been measured
+	private static final int ESTIMATED_HEIGHT = 72;
+
+	private final CombatAchievementsPlugin plugin;
+	// Task id to the measured width in the high half and height in the low half
+	private final Map<Integer, Long> collapsedHeights = new HashMap<>();
+	private final Map<Integer, Long> expandedHeights = new HashMap<>();
+	private long measuredCollapsedTotal;
+	private int measuredCollapsedCount;
+	private CombatAchievementPanel measuringRow;
+
+	RowHeightCache(CombatAchievementsPlugin plugin)
+	{
+		this.plugin = plugin;
+	}
+
+	/**
+	 * @return the measured height of the row at this width, or an estimate if it hasn't been measured
+	 */
+	int getHeight(CombatAchievement achievement, boolean expanded, int width)
+	{
+		Long height = lookup(achievement.getId(), expanded, width);
+		if (height != null)
+		{
+			return (int) (long) height;
+		}
+
+		if (expanded)
+		{
+			// Expanded rows grow from the collapsed row, so start from its height if known
+			Long collapsed = lookup(achievement.getId(), false, width);
+			return collapsed != null ? (int) (long) collapsed : estimatedHeight();
+		}
+		return estimatedHeight();
+	}
+
+	boolean isMeasured(CombatAchievement achievement, boolean expanded, int width)
+	{
+		return lookup(achievement.getId(), expanded, width) != null;
+	}
+
+	/**
+	 * Measure the row off screen and keep its height
+	 */
+	int measure(CombatAchievement achievement, boolean expanded, int width)
+	{
+		int height = measureRow(achievement, expanded, width);
+		long entry = ((long) width << 32) | height;
+		if (expanded)
+		{
+			expandedHeights.put(achievement.getId(), entry);
+		}
+		else if (collapsedHeights.put(achievement.getId(), entry) == null)
+		{
+			measuredCollapsedTotal += height;
+			measuredCollapsedCount++;
+		}
+		return height;
+	}
+
+	/**
+	 * Forget the task's expanded height, its progress or tracking changed
+	 */
+	void invalidateExpanded(int taskId)
+	{
+		expandedHeights.remove(taskId);
+	}
+
+	void clear()
+	{
+		collapsedHeights.clear();
+		expandedHeights.clear();
+		measuredCollapsedTotal = 0;
+		measuredCollapsedCount = 0;
+	}
+
+	private Long lookup(int taskId, boolean expanded, int width)
+	{
+		Long entry = (expanded ? expandedHeights : collapsedHeights).get(taskId);
+		if (entry == null || (int) (entry >>> 32) != width)
+		{
+			return null;
+		}
+		return entry & 0xFFFFFFFFL;
+	}
+
+	private int estimatedHeight()
+	{
+		// The rows measured so far are a better guess than the constant once there are some
+		return measuredCollapsedCount > 0 ? (int) (measuredCollapsedTotal / measuredCollapsedCount) : ESTIMATED_HEIGHT;
+	}
+
+	private int measureRow(CombatAchievement achievement, boolean expanded, int width)
+	{
+		if (measuringRow == null)
+		{
+			measuringRow = new CombatAchievementPanel(plugin, achievement);
+		}
+
+		measuringRow.bind(achievement, expanded);
+		// The row is never displayed so validate() won't lay it out, and the wrapped description
+		// only reports its real height once it has been given a width
+		measuringRow.setSize(width, Short.MAX_VALUE);
+		layoutTree(measuringRow);
+		return measuringRow.getPreferredSize().height;
+	}
+
+	private static void layoutTree(Container container)
+	{
+		container.doLayout();
+		for (Component child : container.getComponents())
+		{
+			if (child instanceof Container)
+			{
+				layoutTree((Container) child);
+			}
+		}
+	}
+}
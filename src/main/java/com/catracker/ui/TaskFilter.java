@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.ui;
+
+import com.catracker.model.CombatAchievement;
+import com.catracker.model.CompletionState;
+import com.catracker.model.TaskPercentages;
+import com.catracker.model.TaskSearchIndex;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Snapshot of the search text and filter settings a task list was built with, and of the
+ * progress and percentages it filters and sorts on. It holds no reference to the filter
+ * controls and never reads progress from the shared achievements, so it can be applied off
+ * the EDT while they change.
+ */
+@Value
+class TaskFilter
+{
+	// How many tasks are filtered between checks for a newer query
+	private static final int CANCEL_CHECK_INTERVAL = 64;
+
+	String searchText;
+	Map<String, Boolean> selectedTiers;
+	String statusFilter;
+	String typeFilter;
+	String sortOption;
+	boolean sortAscending;
+	// Compared by identity, a new index means the catalog changed
+	TaskSearchIndex searchIndex;
+	// Immutable and replaced on every change, so also compared by identity
+	CompletionState completionState;
+	TaskPercentages percentages;
+
+	TaskFilter(String searchText, Map<String, Boolean> selectedTiers, String statusFilter, String typeFilter,
+		String sortOption, boolean sortAscending, TaskSearchIndex searchIndex, CompletionState completionState,
+		TaskPercentages percentages)
+	{
+		this.searchText = searchText;
+		this.selectedTiers = Collections.unmodifiableMap(new HashMap<>(selectedTiers));
+		this.statusFilter = statusFilter;
+		this.typeFilter = typeFilter;
+		this.sortOption = sortOption;
+		this.sortAscending = sortAscending;
+		this.searchIndex = searchIndex;
+		this.completionState = completionState;
+		this.percentages = percentages;
+	}
+
+	List<CombatAchievement> apply(List<CombatAchievement> sourceList)
+	{
+		return apply(sourceList, () -> false);
+	}
+
+	/**
+	 * @return the matching tasks in sort order, or null if {@code cancelled} returned true first
+	 */
+	List<CombatAchievement> apply(List<CombatAchievement> sourceList, BooleanSupplier cancelled)
+	{
+		// One index lookup per query, the tasks are then only checked against the id set
+		BitSet matchingIds = searchText.isEmpty() ? null : searchIndex.search(searchText);
+		List<CombatAchievement> filtered = new ArrayList<>();
+		for (int i = 0; i < sourceList.size(); i++)
+		{
+			if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())
+			{
+				return null;
+			}
+
+			CombatAchievement achievement = sourceList.get(i);
+			if (matches(achievement, matchingIds))
+			{
+				filtered.add(achievement);
+			}
+		}
+
+		if (sortOption != null)
+		{
+			filtered.sort(comparator());
+		}
+		return cancelled.getAsBoolean() ? null : filtered;
+	}
+
+	private boolean matches(CombatAchievement achievement, BitSet matchingIds)
+	{
+		if (matchingIds != null && !matchingIds.get(achievement.getId()))
+		{
+			return false;
+		}
+
+		if (!selectedTiers.getOrDefault(achievement.getTier(), true))
+		{
+			return false;
+		}
+
+		boolean completed = completionState.isCompleted(achievement.getId());
+		if ("Completed".equals(statusFilter) && !completed)
+		{
+			return false;
+		}
+		if ("Incomplete".equals(statusFilter) && completed)
+		{
+			return false;
+		}
+
+		if (!"All Types".equals(typeFilter))
+		{
+			String achievementType = achievement.getType();
+			if (achievementType == null || !achievementType.equals(typeFilter))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private Comparator<CombatAchievement> comparator()
+	{
+		switch (sortOption)
+		{
+			case "Tier":
+				if (sortAscending)
+				{
+					return (a, b) -> Integer.compare(a.getTierLevel().getOrder(), b.getTierLevel().getOrder());
+				}
+				return (a, b) -> Integer.compare(b.getTierLevel().getOrder(), a.getTierLevel().getOrder());
+			case "Points":
+				if (sortAscending)
+				{
+					return (a, b) -> Integer.compare(a.getPoints(), b.getPoints());
+				}
+				return (a, b) -> Integer.compare(b.getPoints(), a.getPoints());
+			case "Name":
+				if (sortAscending)
+				{
+					return (a, b) -> a.getName().compareTo(b.getName());
+				}
+				return (a, b) -> b.getName().compareTo(a.getName());
+			case "Completion":
+				if (sortAscending)
+				{
+					return (a, b) -> Boolean.compare(completionState.isCompleted(a.getId()), completionState.isCompleted(b.getId()));
+				}
+				return (a, b) -> Boolean.compare(completionState.isCompleted(b.getId()), completionState.isCompleted(a.getId()));
+			case "Wiki Completion %":
+				return (a, b) ->
+				{
+					float aComp = percentages.get(a.getId());
+					float bComp = percentages.get(b.getId());
+					if (Float.isNaN(aComp) && Float.isNaN(bComp)) return 0;
+					if (Float.isNaN(aComp)) return 1;
+					if (Float.isNaN(bComp)) return -1;
+					if (sortAscending)
+					{
+						return Float.compare(bComp, aComp);
+					}
+					else
+					{
+						return Float.compare(aComp, bComp);
+					}
+				};
+			default:
+				return (a, b) ->
+				{
+					int tierComparison = Integer.compare(a.getTierLevel().getOrder(), b.getTierLevel().getOrder());
+					return tierComparison == 0 ? a.getName().compareTo(b.getName()) : tierComparison;
+				};
+		}
+	}
+}
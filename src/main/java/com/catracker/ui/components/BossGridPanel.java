@@ -24,8 +24,11 @@
  */
 package com.catracker.ui.components;
 
+import com.catracker.model.BossNameTable;
 import com.catracker.model.BossStats;
 import com.catracker.model.CombatAchievement;
+import com.catracker.model.CompletionMasks;
+import com.catracker.model.CompletionState;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
 
@@ -35,7 +38,8 @@ import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -61,15 +65,25 @@ public class BossGridPanel extends JPanel
 		this.bossClickCallback = callback;
 	}
 
-	public void displayBossGrid(List<CombatAchievement> allAchievements, String currentSearchText,
+	public void displayBossGrid(List<CombatAchievement> allAchievements, BossNameTable bossNames,
+								CompletionState completionState, CompletionMasks completionMasks, String currentSearchText,
 								String statusFilter, String typeFilter, String sortOption, boolean sortAscending,
 								Map<String, Boolean> selectedTiers)
 	{
 		removeAll();
 
-		Map<String, BossStats> bossStatsMap = calculateBossStats(allAchievements);
+		BossStats[] bossStats = calculateBossStats(bossNames, completionState, completionMasks);
 
-		if (bossStatsMap.isEmpty())
+		List<Integer> bossIds = new ArrayList<>();
+		for (int bossId = 0; bossId < bossStats.length; bossId++)
+		{
+			if (bossStats[bossId] != null)
+			{
+				bossIds.add(bossId);
+			}
+		}
+
+		if (bossIds.isEmpty())
 		{
 			JLabel emptyLabel = new JLabel("No boss data available");
 			emptyLabel.setFont(FontManager.getRunescapeSmallFont());
@@ -81,15 +95,15 @@ public class BossGridPanel extends JPanel
 			return;
 		}
 
-		List<String> filteredBosses = bossStatsMap.keySet().stream()
-			.filter(boss -> boss != null && !boss.equals("Unknown") && !boss.trim().isEmpty())
-			.filter(boss -> matchesBossSearch(boss, currentSearchText))
-			.filter(boss -> matchesBossStatus(boss, bossStatsMap.get(boss), statusFilter))
-			.filter(boss -> matchesBossType(boss, allAchievements, typeFilter))
-			.filter(boss -> matchesBossTiers(boss, allAchievements, selectedTiers))
+		String lowerCaseSearch = currentSearchText == null ? "" : currentSearchText.toLowerCase();
+		List<Integer> filteredBosses = bossIds.stream()
+			.filter(bossId -> matchesBossSearch(bossNames.getLowerCaseName(bossId), lowerCaseSearch))
+			.filter(bossId -> matchesBossStatus(bossStats[bossId], statusFilter))
+			.filter(bossId -> matchesBossType(bossId, allAchievements, typeFilter))
+			.filter(bossId -> matchesBossTiers(bossId, allAchievements, selectedTiers))
 			.collect(Collectors.toList());
 
-		List<String> sortedBosses = sortBosses(filteredBosses, bossStatsMap, allAchievements, sortOption, sortAscending);
+		List<Integer> sortedBosses = sortBosses(filteredBosses, bossStats, bossNames, allAchievements, sortOption, sortAscending);
 
 		if (sortedBosses.isEmpty())
 		{
@@ -110,15 +124,13 @@ public class BossGridPanel extends JPanel
 			rowPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 80));
 			rowPanel.setBorder(new EmptyBorder(5, 0, 5, 0));
 
-			String boss1 = sortedBosses.get(i);
-			BossStats stats1 = bossStatsMap.get(boss1);
-			rowPanel.add(createBossCard(boss1, stats1));
+			int boss1 = sortedBosses.get(i);
+			rowPanel.add(createBossCard(bossNames.getName(boss1), bossStats[boss1]));
 
 			if (i + 1 < sortedBosses.size())
 			{
-				String boss2 = sortedBosses.get(i + 1);
-				BossStats stats2 = bossStatsMap.get(boss2);
-				rowPanel.add(createBossCard(boss2, stats2));
+				int boss2 = sortedBosses.get(i + 1);
+				rowPanel.add(createBossCard(bossNames.getName(boss2), bossStats[boss2]));
 			}
 			else
 			{
@@ -241,37 +253,39 @@ public class BossGridPanel extends JPanel
 		}
 	}
 
-	private Map<String, BossStats> calculateBossStats(List<CombatAchievement> allAchievements)
+	/**
+	 * @return stats indexed by boss id, null for ids without any tasks
+	 */
+	private BossStats[] calculateBossStats(BossNameTable bossNames, CompletionState completionState,
+										   CompletionMasks completionMasks)
 	{
-		Map<String, BossStats> bossStatsMap = new HashMap<>();
-		for (CombatAchievement achievement : allAchievements)
+		BossStats[] bossStats = new BossStats[bossNames.size()];
+		int limit = Math.min(bossStats.length, completionMasks.getBossIdLimit());
+		for (int bossId = 0; bossId < limit; bossId++)
 		{
-			String bossName = achievement.getBossName();
-			if (bossName == null || bossName.equals("Unknown") || bossName.trim().isEmpty())
+			int total = completionMasks.getBossTaskCount(bossId);
+			if (total == 0 || bossNames.getName(bossId).trim().isEmpty())
 			{
 				continue;
 			}
-			bossStatsMap.putIfAbsent(bossName, new BossStats());
-			BossStats stats = bossStatsMap.get(bossName);
-			stats.total++;
-			if (achievement.isCompleted())
-			{
-				stats.completed++;
-			}
+			BossStats stats = new BossStats();
+			stats.total = total;
+			stats.completed = completionMasks.getBossCompletedCount(completionState, bossId);
+			bossStats[bossId] = stats;
 		}
-		return bossStatsMap;
+		return bossStats;
 	}
 
-	private boolean matchesBossSearch(String bossName, String searchText)
+	private boolean matchesBossSearch(String lowerCaseBossName, String lowerCaseSearch)
 	{
-		if (searchText == null || searchText.isEmpty())
+		if (lowerCaseSearch.isEmpty())
 		{
 			return true;
 		}
-		return bossName.toLowerCase().contains(searchText.toLowerCase());
+		return lowerCaseBossName.contains(lowerCaseSearch);
 	}
 
-	private boolean matchesBossStatus(String bossName, BossStats stats, String statusFilter)
+	private boolean matchesBossStatus(BossStats stats, String statusFilter)
 	{
 		if (statusFilter == null || statusFilter.equals("All"))
 		{
@@ -292,7 +306,7 @@ public class BossGridPanel extends JPanel
 		return true;
 	}
 
-	private boolean matchesBossType(String bossName, List<CombatAchievement> allAchievements, String typeFilter)
+	private boolean matchesBossType(int bossId, List<CombatAchievement> allAchievements, String typeFilter)
 	{
 		if (typeFilter == null || typeFilter.equals("All Types"))
 		{
@@ -301,11 +315,11 @@ public class BossGridPanel extends JPanel
 
 		// Check if any achievement for this boss has the specified type
 		return allAchievements.stream()
-			.filter(achievement -> bossName.equals(achievement.getBossName()))
+			.filter(achievement -> achievement.getBossId() == bossId)
 			.anyMatch(achievement -> typeFilter.equals(achievement.getType()));
 	}
 
-	private boolean matchesBossTiers(String bossName, List<CombatAchievement> allAchievements, Map<String, Boolean> selectedTiers)
+	private boolean matchesBossTiers(int bossId, List<CombatAchievement> allAchievements, Map<String, Boolean> selectedTiers)
 	{
 		if (selectedTiers == null || selectedTiers.isEmpty())
 		{
@@ -314,38 +328,32 @@ public class BossGridPanel extends JPanel
 
 		// Check if any achievement for this boss has a tier that is selected
 		return allAchievements.stream()
-			.filter(achievement -> bossName.equals(achievement.getBossName()))
+			.filter(achievement -> achievement.getBossId() == bossId)
 			.anyMatch(achievement -> selectedTiers.getOrDefault(achievement.getTier(), false));
 	}
 
-	private List<String> sortBosses(List<String> bosses, Map<String, BossStats> bossStatsMap,
-									 List<CombatAchievement> allAchievements, String sortOption, boolean sortAscending)
+	private List<Integer> sortBosses(List<Integer> bosses, BossStats[] bossStats, BossNameTable bossNames,
+									  List<CombatAchievement> allAchievements, String sortOption, boolean sortAscending)
 	{
+		Comparator<Integer> byName = Comparator.comparing(bossNames::getName);
+
 		if (sortOption == null || sortOption.equals("Tier"))
 		{
 			// Default alphabetical sort
-			bosses.sort(String::compareTo);
-			if (!sortAscending)
-			{
-				java.util.Collections.reverse(bosses);
-			}
+			bosses.sort(sortAscending ? byName : byName.reversed());
 			return bosses;
 		}
 
 		switch (sortOption)
 		{
 			case "Name":
-				bosses.sort(String::compareTo);
-				if (!sortAscending)
-				{
-					java.util.Collections.reverse(bosses);
-				}
+				bosses.sort(sortAscending ? byName : byName.reversed());
 				break;
 
 			case "Completion":
 				bosses.sort((a, b) -> {
-					BossStats statsA = bossStatsMap.get(a);
-					BossStats statsB = bossStatsMap.get(b);
+					BossStats statsA = bossStats[a];
+					BossStats statsB = bossStats[b];
 					boolean aComplete = statsA.completed == statsA.total && statsA.total > 0;
 					boolean bComplete = statsB.completed == statsB.total && statsB.total > 0;
 
@@ -381,33 +389,25 @@ public class BossGridPanel extends JPanel
 				break;
 
 			default:
-				bosses.sort(String::compareTo);
-				if (!sortAscending)
-				{
-					java.util.Collections.reverse(bosses);
-				}
+				bosses.sort(sortAscending ? byName : byName.reversed());
 				break;
 		}
 
 		return bosses;
 	}
 
-	private double getAverageCompletionPercent(String bossName, List<CombatAchievement> allAchievements)
+	private double getAverageCompletionPercent(int bossId, List<CombatAchievement> allAchievements)
 	{
-		List<CombatAchievement> bossAchievements = allAchievements.stream()
-			.filter(achievement -> bossName.equals(achievement.getBossName()))
-			.collect(Collectors.toList());
-
-		if (bossAchievements.isEmpty())
-		{
-			return 0.0;
-		}
-
 		double sum = 0.0;
 		int count = 0;
 
-		for (CombatAchievement achievement : bossAchievements)
+		for (CombatAchievement achievement : allAchievements)
 		{
+			if (achievement.getBossId() != bossId)
+			{
+				continue;
+			}
+
 			Double completionPercent = achievement.getCompletionPercentage();
 			if (completionPercent != null)
 			{
@@ -418,4 +418,4 @@ public class BossGridPanel extends JPanel
 
 		return count > 0 ? sum / count : 0.0;
 	}
-}
\ No newline at end of file
+}
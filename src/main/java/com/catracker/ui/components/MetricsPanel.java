@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.ui.components;
+
+import com.catracker.util.LoadMetrics;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Developer mode panel listing the load phase timers and counters. Starts collapsed to its
+ * title, and the listing scrolls within a fixed height so it never squeezes the task lists.
+ */
+public class MetricsPanel extends JPanel
+{
+	private static final int BODY_HEIGHT = 160;
+
+	private final LoadMetrics metrics;
+	private final JLabel titleLabel = new JLabel();
+	private final JTextArea metricsText = new JTextArea();
+	private final JPanel body = new JPanel(new BorderLayout(0, 4));
+	private boolean expanded;
+
+	public MetricsPanel(LoadMetrics metrics)
+	{
+		this.metrics = metrics;
+
+		setLayout(new BorderLayout(0, 4));
+		setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		setBorder(BorderFactory.createCompoundBorder(
+			new LineBorder(ColorScheme.MEDIUM_GRAY_COLOR, 1),
+			new EmptyBorder(4, 6, 4, 6)
+		));
+
+		titleLabel.setFont(FontManager.getRunescapeSmallFont());
+		titleLabel.setForeground(Color.LIGHT_GRAY);
+		titleLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		titleLabel.addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				setExpanded(!expanded);
+			}
+		});
+
+		metricsText.setFont(FontManager.getRunescapeSmallFont());
+		metricsText.setForeground(Color.WHITE);
+		metricsText.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		metricsText.setEditable(false);
+		metricsText.setLineWrap(true);
+
+		JPanel buttons = new JPanel(new GridLayout(1, 3, 4, 0));
+		buttons.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		buttons.add(createButton("Refresh", this::refresh));
+		buttons.add(createButton("Log", metrics::logSummary));
+		buttons.add(createButton("Reset", () ->
+		{
+			metrics.reset();
+			refresh();
+		}));
+
+		JScrollPane scrollPane = new JScrollPane(metricsText);
+		scrollPane.setBorder(null);
+		scrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+		scrollPane.setPreferredSize(new Dimension(0, BODY_HEIGHT));
+
+		body.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		body.add(scrollPane, BorderLayout.CENTER);
+		body.add(buttons, BorderLayout.SOUTH);
+
+		add(titleLabel, BorderLayout.NORTH);
+		add(body, BorderLayout.CENTER);
+		setExpanded(false);
+	}
+
+	/**
+	 * Update the listing, skipped while collapsed since it is rebuilt when expanded
+	 */
+	public void refresh()
+	{
+		if (!expanded)
+		{
+			return;
+		}
+
+		List<String> lines = metrics.snapshot();
+		metricsText.setText(lines.isEmpty() ? "No metrics recorded" : String.join("\n", lines));
+		revalidate();
+		repaint();
+	}
+
+	private void setExpanded(boolean expanded)
+	{
+		this.expanded = expanded;
+		titleLabel.setText(expanded ? "Load Metrics (hide)" : "Load Metrics (show)");
+		body.setVisible(expanded);
+		refresh();
+		revalidate();
+		repaint();
+	}
+
+	private JButton createButton(String text, Runnable action)
+	{
+		JButton button = new JButton(text);
+		button.setFont(FontManager.getRunescapeSmallFont());
+		button.setBackground(ColorScheme.DARK_GRAY_COLOR);
+		button.setForeground(Color.WHITE);
+		button.setFocusPainted(false);
+		button.addActionListener(e -> action.run());
+		return button;
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.ui.components;
+
+import com.catracker.util.RarityHistory;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Small step chart of how a task's wiki completion percentage moved across fetches
+ */
+public class RarityHistoryChart extends JPanel
+{
+	private static final int CHART_HEIGHT = 36;
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy").withZone(ZoneId.systemDefault());
+
+	private final JLabel summaryLabel = new JLabel("Loading history...");
+	private final JComponent chart;
+	private RarityHistory.Series series = RarityHistory.Series.EMPTY;
+
+	public RarityHistoryChart()
+	{
+		setLayout(new BorderLayout(0, 2));
+		setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		setAlignmentX(Component.LEFT_ALIGNMENT);
+
+		summaryLabel.setFont(FontManager.getRunescapeSmallFont());
+		summaryLabel.setForeground(Color.LIGHT_GRAY);
+
+		chart = new JComponent()
+		{
+			@Override
+			protected void paintComponent(Graphics g)
+			{
+				paintSeries((Graphics2D) g, getWidth(), getHeight());
+			}
+		};
+		chart.setPreferredSize(new Dimension(0, CHART_HEIGHT));
+		chart.setVisible(false);
+
+		add(summaryLabel, BorderLayout.NORTH);
+		add(chart, BorderLayout.CENTER);
+	}
+
+	public void setSeries(RarityHistory.Series series)
+	{
+		this.series = series;
+		if (series.size() == 0)
+		{
+			summaryLabel.setText("No history recorded yet");
+		}
+		else
+		{
+			summaryLabel.setText(String.format("Since %s: %.1f%% to %.1f%%",
+				DATE_FORMAT.format(Instant.ofEpochMilli(series.getTimestamp(0))),
+				series.getValue(0), series.getValue(series.size() - 1)));
+		}
+
+		chart.setVisible(series.size() > 1);
+		revalidate();
+		repaint();
+	}
+
+	private void paintSeries(Graphics2D g, int width, int height)
+	{
+		int size = series.size();
+		if (size < 2 || width <= 0)
+		{
+			return;
+		}
+
+		// Values hold until the next change, so the last one runs on to now
+		long start = series.getTimestamp(0);
+		long span = Math.max(1, System.currentTimeMillis() - start);
+		float min = Float.MAX_VALUE;
+		float max = -Float.MAX_VALUE;
+		for (int i = 0; i < size; i++)
+		{
+			min = Math.min(min, series.getValue(i));
+			max = Math.max(max, series.getValue(i));
+		}
+		float range = Math.max(0.1f, max - min);
+
+		g.setColor(ColorScheme.DARK_GRAY_COLOR);
+		g.fillRect(0, 0, width, height);
+		g.setColor(ColorScheme.BRAND_ORANGE);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+		int previousX = 0;
+		int previousY = valueToY(series.getValue(0), min, range, height);
+		for (int i = 1; i <= size; i++)
+		{
+			long time = i < size ? series.getTimestamp(i) : start + span;
+			int x = (int) ((time - start) * (width - 1) / span);
+			g.drawLine(previousX, previousY, x, previousY);
+			if (i < size)
+			{
+				int y = valueToY(series.getValue(i), min, range, height);
+				g.drawLine(x, previousY, x, y);
+				previousY = y;
+			}
+			previousX = x;
+		}
+	}
+
+	private static int valueToY(float value, float min, float range, int height)
+	{
+		return (height - 3) - Math.round((value - min) / range * (height - 5));
+	}
+}
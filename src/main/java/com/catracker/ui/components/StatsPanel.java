@@ -26,8 +26,9 @@ package com.catracker.ui.components;
 
 import com.catracker.CombatAchievementsPlugin;
 import com.catracker.config.CombatAchievementsConfig;
-import com.catracker.model.BossStats;
-import com.catracker.model.CombatAchievement;
+import com.catracker.model.BossNameTable;
+import com.catracker.model.CompletionMasks;
+import com.catracker.model.CompletionState;
 import com.catracker.util.TierUtil;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
@@ -36,8 +37,6 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Panel that displays statistics about combat achievements progress
@@ -201,80 +200,50 @@ public class StatsPanel extends JPanel
 	/**
 	 * Update stats for regular view (all tasks or tracked tasks)
 	 */
-	public void updateStats(List<CombatAchievement> allAchievements,
-							List<CombatAchievement> trackedAchievements,
-							List<CombatAchievement> visibleAchievements,
-							String viewContext)
+	public void updateStats(CompletionState completionState, CompletionMasks completionMasks, int[] trackedMask)
 	{
-
-		int totalCompletedPoints = allAchievements.stream()
-			.filter(CombatAchievement::isCompleted)
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
-
-		int allTotalPoints = allAchievements.stream()
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
-
-		int totalTrackedPoints = trackedAchievements.stream()
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
-
-		int completedTrackedPoints = trackedAchievements.stream()
-			.filter(CombatAchievement::isCompleted)
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
-
-		CombatAchievementsConfig.TierGoal tierGoal = plugin.getTierGoal();
-		int pointGoal = TierUtil.getPointsFromGoal(tierGoal, totalCompletedPoints);
-		String actualTierName = TierUtil.getActualTierName(tierGoal, totalCompletedPoints);
+		int totalCompletedPoints = completionMasks.getCompletedPoints(completionState);
+		int allTotalPoints = completionMasks.getTotalPoints();
 
 		boolean compactMode = plugin.getConfig().preferSmallerStatsPanel();
 
 		if (compactMode)
 		{
 			totalPointsLabel.setText("Total: " + totalCompletedPoints + "/" + allTotalPoints + " pts" +
-				" (" + allAchievements.size() + " tasks)");
-
-			trackedPointsLabel.setText("Tracked: " + completedTrackedPoints + "/" +
-				totalTrackedPoints + " pts (" + trackedAchievements.size() + " tasks)");
+				" (" + completionMasks.getTaskCount() + " tasks)");
 		}
 		else
 		{
 			totalPointsLabel.setText(totalCompletedPoints + "/" + allTotalPoints + " pts" +
-				" (" + allAchievements.size() + " tasks)");
-
-			trackedPointsLabel.setText(completedTrackedPoints + "/" +
-				totalTrackedPoints + " pts (" + trackedAchievements.size() + " tasks)");
+				" (" + completionMasks.getTaskCount() + " tasks)");
 		}
 
-		if (totalCompletedPoints >= pointGoal)
-		{
-			String goalText = compactMode ? "Goal: " + actualTierName + " Completed! (" + totalCompletedPoints + " pts)" :
-				actualTierName + " Completed! (" + totalCompletedPoints + " pts)";
-			goalLabel.setText(goalText);
-		}
-		else
-		{
-			int remainingPoints = pointGoal - totalCompletedPoints;
-			String goalText = compactMode ? "Goal: " + remainingPoints + " pts to " + actualTierName :
-				remainingPoints + " pts to " + actualTierName;
-			goalLabel.setText(goalText);
-		}
+		updateTrackedLabel(completionState, completionMasks, trackedMask, compactMode);
+		updateGoalLabel(totalCompletedPoints, compactMode);
 	}
 
 	/**
 	 * Update stats for boss view
 	 */
-	public void updateBossStats(Map<String, BossStats> bossStatsMap,
-								List<CombatAchievement> allAchievements,
-								List<CombatAchievement> trackedAchievements)
+	public void updateBossStats(CompletionState completionState, CompletionMasks completionMasks,
+								int[] trackedMask, BossNameTable bossNames)
 	{
-
-		int totalBosses = bossStatsMap.size();
-		int completedBosses = (int) bossStatsMap.values().stream()
-			.filter(stats -> stats.completed == stats.total && stats.total > 0)
-			.count();
+		int totalBosses = 0;
+		int completedBosses = 0;
+		for (int bossId = 0; bossId < completionMasks.getBossIdLimit(); bossId++)
+		{
+			int total = completionMasks.getBossTaskCount(bossId);
+			if (total == 0 || !bossNames.contains(bossId) || bossNames.getName(bossId).trim().isEmpty())
+			{
+				continue;
+			}
+
+			totalBosses++;
+			if (completionMasks.getBossCompletedCount(completionState, bossId) == total)
+			{
+				completedBosses++;
+			}
+		}
 
 		boolean compactMode = plugin.getConfig().preferSmallerStatsPanel();
 
@@ -287,31 +256,31 @@ public class StatsPanel extends JPanel
 			totalPointsLabel.setText(completedBosses + "/" + totalBosses + " complete");
 		}
 
-		int totalTrackedPoints = trackedAchievements.stream()
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
+		updateTrackedLabel(completionState, completionMasks, trackedMask, compactMode);
+		updateGoalLabel(completionMasks.getCompletedPoints(completionState), compactMode);
+	}
 
-		int completedTrackedPoints = trackedAchievements.stream()
-			.filter(CombatAchievement::isCompleted)
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
+	private void updateTrackedLabel(CompletionState completionState, CompletionMasks completionMasks,
+									int[] trackedMask, boolean compactMode)
+	{
+		int totalTrackedPoints = completionMasks.getPoints(trackedMask);
+		int completedTrackedPoints = completionMasks.getCompletedPoints(completionState, trackedMask);
+		int trackedCount = CompletionState.count(trackedMask);
 
 		if (compactMode)
 		{
 			trackedPointsLabel.setText("Tracked: " + completedTrackedPoints + "/" +
-				totalTrackedPoints + " pts (" + trackedAchievements.size() + " tasks)");
+				totalTrackedPoints + " pts (" + trackedCount + " tasks)");
 		}
 		else
 		{
 			trackedPointsLabel.setText(completedTrackedPoints + "/" +
-				totalTrackedPoints + " pts (" + trackedAchievements.size() + " tasks)");
+				totalTrackedPoints + " pts (" + trackedCount + " tasks)");
 		}
+	}
 
-		int totalCompletedPoints = allAchievements.stream()
-			.filter(CombatAchievement::isCompleted)
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
-
+	private void updateGoalLabel(int totalCompletedPoints, boolean compactMode)
+	{
 		CombatAchievementsConfig.TierGoal tierGoal = plugin.getTierGoal();
 		int pointGoal = TierUtil.getPointsFromGoal(tierGoal, totalCompletedPoints);
 		String actualTierName = TierUtil.getActualTierName(tierGoal, totalCompletedPoints);
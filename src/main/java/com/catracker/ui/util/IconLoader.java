@@ -29,20 +29,51 @@ import net.runelite.client.util.ImageUtil;
 
 import javax.swing.*;
 import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Centralized icon loading utility to handle resource loading consistently
+ * Centralized icon loading utility to handle resource loading consistently. Each resource is
+ * decoded and resized once per size; the icons handed out are shared and must not be modified.
  */
 @Slf4j
 public class IconLoader
 {
 
 	private static final String RESOURCE_PATH = "/";
+	private static final String[] TIERS = {"Easy", "Medium", "Hard", "Elite", "Master", "Grandmaster"};
+
+	private static final Map<String, ImageIcon> CACHE = new ConcurrentHashMap<>();
 
 	/**
-	 * Load an icon from resources with specified dimensions
+	 * Load an icon from resources with specified dimensions, decoding it only on first use
 	 */
 	public static ImageIcon loadIcon(String iconName, int width, int height)
+	{
+		return CACHE.computeIfAbsent(iconName + '@' + width + 'x' + height, k -> decodeIcon(iconName, width, height));
+	}
+
+	/**
+	 * Decode every icon the panels use, so the first build on the EDT doesn't have to.
+	 * Safe to call from any thread.
+	 */
+	public static void preload()
+	{
+		long startTime = System.nanoTime();
+		for (String tier : TIERS)
+		{
+			loadTierIcon(tier);
+			loadTierButtonIcon(tier);
+		}
+		loadTrackAddIcon();
+		loadTrackRemoveIcon();
+		loadArrowRight();
+		loadSortUpIcon();
+		loadSortDownIcon();
+		log.debug("Preloaded {} icons in {}ms", CACHE.size(), (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	private static ImageIcon decodeIcon(String iconName, int width, int height)
 	{
 		BufferedImage originalIcon = ImageUtil.loadImageResource(
 			com.catracker.CombatAchievementsPlugin.class,
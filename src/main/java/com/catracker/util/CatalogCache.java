@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import com.catracker.model.TaskDefinition;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Local cache of decoded task definitions. Definitions only change with game updates, so they
+ * are keyed by a hash of the tier enums' struct id arrays and reused until that changes.
+ */
+@Slf4j
+public class CatalogCache
+{
+	private static final File CACHE_DIR = new File(RuneLite.RUNELITE_DIR, "combat-achievements");
+	private static final File CACHE_FILE = new File(CACHE_DIR, "catalog.dat");
+	private static final int FORMAT_VERSION = 2;
+
+	private final IoExecutor ioExecutor;
+	private volatile Entry entry;
+
+	private static class Entry
+	{
+		private final int key;
+		private final long decodeNanos;
+		private final List<TaskDefinition> definitions;
+
+		private Entry(int key, long decodeNanos, List<TaskDefinition> definitions)
+		{
+			this.key = key;
+			this.decodeNanos = decodeNanos;
+			this.definitions = definitions;
+		}
+	}
+
+	public CatalogCache(IoExecutor ioExecutor)
+	{
+		this.ioExecutor = ioExecutor;
+	}
+
+	public static int computeKey(int[][] tierStructIds)
+	{
+		return Arrays.deepHashCode(tierStructIds);
+	}
+
+	/**
+	 * Read the cache file in the background so lookups on the client thread never touch the disk
+	 */
+	public CompletableFuture<Void> loadAsync()
+	{
+		return ioExecutor.runAsync(() ->
+		{
+			if (!CACHE_FILE.exists())
+			{
+				return;
+			}
+
+			try
+			{
+				entry = read();
+				log.debug("Loaded {} cached task definitions", entry.definitions.size());
+			}
+			catch (IOException e)
+			{
+				log.warn("Failed to read catalog cache, definitions will be decoded from the client", e);
+			}
+		});
+	}
+
+	/**
+	 * @return the cached definitions for this key, or null if the cache is missing or stale
+	 */
+	public List<TaskDefinition> get(int key)
+	{
+		Entry current = entry;
+		if (current == null || current.key != key)
+		{
+			return null;
+		}
+		return current.definitions;
+	}
+
+	/**
+	 * @return how long the cached definitions took to decode from the client, or 0 if unknown
+	 */
+	public long getDecodeNanos(int key)
+	{
+		Entry current = entry;
+		return current != null && current.key == key ? current.decodeNanos : 0;
+	}
+
+	public void saveAsync(int key, long decodeNanos, List<TaskDefinition> definitions)
+	{
+		Entry newEntry = new Entry(key, decodeNanos, Collections.unmodifiableList(new ArrayList<>(definitions)));
+		entry = newEntry;
+
+		ioExecutor.runAsync(() ->
+		{
+			try
+			{
+				write(newEntry);
+				log.debug("Saved {} task definitions to catalog cache", newEntry.definitions.size());
+			}
+			catch (IOException e)
+			{
+				log.warn("Failed to write catalog cache", e);
+			}
+		});
+	}
+
+	private static Entry read() throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(CACHE_FILE))))
+		{
+			int version = in.readInt();
+			if (version != FORMAT_VERSION)
+			{
+				throw new IOException("Unsupported catalog cache version " + version);
+			}
+
+			int key = in.readInt();
+			long decodeNanos = in.readLong();
+			int count = in.readInt();
+
+			List<TaskDefinition> definitions = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+			{
+				int id = in.readInt();
+				String name = readNullableString(in);
+				String description = readNullableString(in);
+				String tier = readNullableString(in);
+				String type = readNullableString(in);
+				int bossId = in.readInt();
+				String bossName = readNullableString(in);
+				if (bossName != null)
+				{
+					bossName = bossName.intern();
+				}
+				definitions.add(new TaskDefinition(id, name, description, tier, type, bossId, bossName));
+			}
+
+			return new Entry(key, decodeNanos, Collections.unmodifiableList(definitions));
+		}
+	}
+
+	private static void write(Entry entry) throws IOException
+	{
+		if (!CACHE_DIR.exists() && !CACHE_DIR.mkdirs())
+		{
+			throw new IOException("Could not create " + CACHE_DIR);
+		}
+
+		// Every client on the host rewrites the cache after a game update, so each writes its own
+		// temp file and the last complete one to be moved into place wins
+		Path tempFile = Files.createTempFile(CACHE_DIR.toPath(), CACHE_FILE.getName(), ".tmp");
+		try
+		{
+			writeEntry(entry, tempFile);
+			Files.move(tempFile, CACHE_FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static void writeEntry(Entry entry, Path file) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+		{
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(entry.key);
+			out.writeLong(entry.decodeNanos);
+			out.writeInt(entry.definitions.size());
+
+			for (TaskDefinition definition : entry.definitions)
+			{
+				out.writeInt(definition.getId());
+				writeNullableString(out, definition.getName());
+				writeNullableString(out, definition.getDescription());
+				writeNullableString(out, definition.getTier());
+				writeNullableString(out, definition.getType());
+				out.writeInt(definition.getBossId());
+				writeNullableString(out, definition.getBossName());
+			}
+		}
+	}
+
+	private static String readNullableString(DataInputStream in) throws IOException
+	{
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeNullableString(DataOutputStream out, String value) throws IOException
+	{
+		out.writeBoolean(value != null);
+		if (value != null)
+		{
+			out.writeUTF(value);
+		}
+	}
+}
@@ -26,7 +26,8 @@
 package com.catracker.util;
 
 import com.catracker.config.CombatAchievementsConfig;
-import com.catracker.model.CombatAchievement;
+import com.catracker.model.CompletionMasks;
+import com.catracker.model.CompletionState;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.ChatMessageType;
@@ -35,7 +36,6 @@ import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
 
 import java.awt.Color;
-import java.util.List;
 
 /**
  * Utility class for sending chat messages related to combat achievements
@@ -55,13 +55,10 @@ public class ChatMessageUtil
 	/**
 	 * Send a progress message when a combat achievement is completed
 	 */
-	public void sendProgressMessage(List<CombatAchievement> allAchievements,
+	public void sendProgressMessage(CompletionState completionState, CompletionMasks completionMasks,
 									CombatAchievementsConfig.TierGoal tierGoal)
 	{
-		int totalCompletedPoints = allAchievements.stream()
-			.filter(CombatAchievement::isCompleted)
-			.mapToInt(CombatAchievement::getPoints)
-			.sum();
+		int totalCompletedPoints = completionMasks.getCompletedPoints(completionState);
 
 		int pointGoal = TierUtil.getPointsFromGoal(tierGoal, totalCompletedPoints);
 		String actualTierName = TierUtil.getActualTierName(tierGoal, totalCompletedPoints);
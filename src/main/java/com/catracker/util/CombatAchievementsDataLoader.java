@@ -24,18 +24,27 @@
  */
 package com.catracker.util;
 
+import com.catracker.config.CombatAchievementsConfig;
+import com.catracker.model.BossNameTable;
 import com.catracker.model.CombatAchievement;
+import com.catracker.model.CompletionState;
+import com.catracker.model.TaskCatalog;
+import com.catracker.model.TaskDefinition;
+import com.catracker.model.TaskPercentages;
 import com.catracker.ui.CombatAchievementsPanel;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.EnumComposition;
 import net.runelite.api.GameState;
-import net.runelite.api.gameval.VarPlayerID;
 import net.runelite.client.callback.ClientThread;
 
 import javax.swing.SwingUtilities;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -43,10 +52,28 @@ public class CombatAchievementsDataLoader
 {
 	private final Client client;
 	private final ClientThread clientThread;
+	private final CatalogCache catalogCache;
+	private final CombatAchievementsConfig config;
+	private final LoadMetrics metrics;
 
-	private boolean needsDataLoad = false;
-	private boolean dataLoadRequested = false;
-	private Consumer<List<CombatAchievement>> onDataLoadComplete;
+	private final LoadCoordinator loadCoordinator = new LoadCoordinator();
+	private BiConsumer<CompletionState, int[]> onCompletionChanged;
+
+	// Completion varps as of the last load or diff, null until the first load finishes
+	private volatile CompletionState completionState;
+
+	// Struct copy in progress, resumed on each game tick when slicing is enabled
+	private LoadJob decodeJob;
+
+	private volatile BossNameTable bossNameTable = BossNameTable.EMPTY;
+
+	// Shared by every refresh and account until the game cache changes
+	private volatile TaskCatalog catalog = TaskCatalog.EMPTY;
+
+	private static final int BOSS_ENUM_ID = 3971;
+
+	// Fixed order so the catalog cache key is stable between sessions
+	private static final int[] TIER_ENUM_IDS = new int[]{3981, 3982, 3983, 3984, 3985, 3986};
 
 	private static final Map<Integer, String> TIER_MAP = Map.of(
 		3981, "Easy",
@@ -66,208 +93,501 @@ public class CombatAchievementsDataLoader
 		6, "Speed"
 	);
 
-	private static final int[] VARP_IDS = new int[]{
-		VarPlayerID.CA_TASK_COMPLETED_0, VarPlayerID.CA_TASK_COMPLETED_1,
-		VarPlayerID.CA_TASK_COMPLETED_2, VarPlayerID.CA_TASK_COMPLETED_3,
-		VarPlayerID.CA_TASK_COMPLETED_4, VarPlayerID.CA_TASK_COMPLETED_5,
-		VarPlayerID.CA_TASK_COMPLETED_6, VarPlayerID.CA_TASK_COMPLETED_7,
-		VarPlayerID.CA_TASK_COMPLETED_8, VarPlayerID.CA_TASK_COMPLETED_9,
-		VarPlayerID.CA_TASK_COMPLETED_10, VarPlayerID.CA_TASK_COMPLETED_11,
-		VarPlayerID.CA_TASK_COMPLETED_12, VarPlayerID.CA_TASK_COMPLETED_13,
-		VarPlayerID.CA_TASK_COMPLETED_14, VarPlayerID.CA_TASK_COMPLETED_15,
-		VarPlayerID.CA_TASK_COMPLETED_16, VarPlayerID.CA_TASK_COMPLETED_17,
-		VarPlayerID.CA_TASK_COMPLETED_18, VarPlayerID.CA_TASK_COMPLETED_19
-	};
-
-	public CombatAchievementsDataLoader(Client client, ClientThread clientThread)
+
+	/**
+	 * One load moving through the pipeline: struct params are copied on the client thread,
+	 * the catalog is built and its percentages resolved on a worker thread, and progress and
+	 * percentages are applied to the shared achievements on the EDT.
+	 */
+	private static class LoadJob
+	{
+		private final long generation;
+		private final int catalogKey;
+		private final int[][] tierStructIds;
+		private final int[] bossKeys;
+		private final String[] bossValues;
+		private final CombatAchievementsPanel panel;
+		private final CompletionPercentageLoader completionLoader;
+		// Set by the client thread when the catalog doesn't need decoding, so the worker never
+		// looks it up again after it may have been replaced or evicted
+		private TaskCatalog loadedCatalog;
+		private List<TaskDefinition> cachedDefinitions;
+		private long cachedDecodeNanos;
+		private RawTaskBuffer rows;
+		private int tierIndex;
+		private int structIndex;
+		private CompletionState state;
+		private long clientNanos;
+		private long buildNanos;
+		private long hydrateNanos;
+		// Resolved on the worker, applied to the shared achievements on the EDT
+		private TaskPercentages percentages;
+		private PercentageTable percentagesFrom;
+
+		private LoadJob(long generation, int catalogKey, int[][] tierStructIds, int[] bossKeys, String[] bossValues,
+						CombatAchievementsPanel panel, CompletionPercentageLoader completionLoader)
+		{
+			this.generation = generation;
+			this.catalogKey = catalogKey;
+			this.tierStructIds = tierStructIds;
+			this.bossKeys = bossKeys;
+			this.bossValues = bossValues;
+			this.panel = panel;
+			this.completionLoader = completionLoader;
+		}
+	}
+
+	public CombatAchievementsDataLoader(Client client, ClientThread clientThread, CatalogCache catalogCache,
+										CombatAchievementsConfig config, LoadMetrics metrics)
 	{
 		this.client = client;
 		this.clientThread = clientThread;
+		this.catalogCache = catalogCache;
+		this.config = config;
+		this.metrics = metrics;
 	}
 
 	public void requestDataLoad()
 	{
-		needsDataLoad = true;
+		loadCoordinator.request();
 	}
 
 	public void requestManualRefresh()
 	{
-		needsDataLoad = true;
-		dataLoadRequested = false;
+		loadCoordinator.request();
 	}
 
 	public void requestManualRefresh(Consumer<List<CombatAchievement>> callback)
 	{
-		this.onDataLoadComplete = callback;
-		requestManualRefresh();
+		loadCoordinator.request(callback);
+	}
+
+	public BossNameTable getBossNameTable()
+	{
+		return bossNameTable;
+	}
+
+	public void setCompletionChangeListener(BiConsumer<CompletionState, int[]> listener)
+	{
+		this.onCompletionChanged = listener;
+	}
+
+	public void clearCompletionSnapshot()
+	{
+		completionState = null;
+	}
+
+	/**
+	 * Diff a changed completion varp against the last snapshot and emit only the task ids
+	 * whose completion bit flipped. Must be called on the client thread.
+	 */
+	public void handleVarpChanged(int varpId)
+	{
+		if (completionState == null)
+		{
+			return;
+		}
+
+		int wordIndex = CompletionState.getWordIndex(varpId);
+		if (wordIndex < 0)
+		{
+			return;
+		}
+
+		int value = client.getVarpValue(varpId);
+		int changedBits = value ^ completionState.getWord(wordIndex);
+		if (changedBits == 0)
+		{
+			return;
+		}
+		completionState = completionState.withWord(wordIndex, value);
+
+		int[] changedTaskIds = new int[Integer.bitCount(changedBits)];
+		for (int i = 0; changedBits != 0; i++)
+		{
+			changedTaskIds[i] = wordIndex * 32 + Integer.numberOfTrailingZeros(changedBits);
+			changedBits &= changedBits - 1;
+		}
+
+		log.debug("Completion varp {} changed tasks {}", varpId, Arrays.toString(changedTaskIds));
+		metrics.increment(LoadMetrics.VARP_DIFFS);
+
+		if (onCompletionChanged != null)
+		{
+			onCompletionChanged.accept(completionState, changedTaskIds);
+		}
 	}
 
 	public void handleGameTick(CombatAchievementsPanel panel, CompletionPercentageLoader completionLoader)
 	{
-		if (needsDataLoad && !dataLoadRequested)
+		long generation = loadCoordinator.startPending();
+		if (generation >= 0)
+		{
+			metrics.increment(LoadMetrics.LOADS_STARTED);
+			loadCombatAchievementsFromClient(panel, completionLoader, generation);
+		}
+		else if (decodeJob != null)
 		{
-			needsDataLoad = false;
-			dataLoadRequested = true;
-			loadCombatAchievementsFromClient(panel, completionLoader);
+			runDecodeSlice(config.decodeBudgetNanos());
 		}
 	}
 
-	private void loadCombatAchievementsFromClient(CombatAchievementsPanel panel, CompletionPercentageLoader completionLoader)
+	private void loadCombatAchievementsFromClient(CombatAchievementsPanel panel, CompletionPercentageLoader completionLoader, long generation)
 	{
 		if (client == null || client.getGameState() != GameState.LOGGED_IN || client.getLocalPlayer() == null)
 		{
 			log.warn("Client not ready for loading combat achievements");
+			loadCoordinator.fail(generation);
 			return;
 		}
 
+		// A new load supersedes any decode still in progress
+		decodeJob = null;
+
 		clientThread.invokeLater(() ->
 		{
+			if (!loadCoordinator.isCurrent(generation))
+			{
+				return;
+			}
+
 			try
 			{
+				long startTime = System.nanoTime();
 				TierUtil.initializeTierThresholds(client);
 				log.debug("Loading Combat Achievements from client data...");
 
-				List<CombatAchievement> achievements = new ArrayList<>();
+				EnumComposition bossEnum = client.getEnum(BOSS_ENUM_ID);
+				int[][] tierStructIds = readTierStructIds();
+				LoadJob job = new LoadJob(generation, CatalogCache.computeKey(tierStructIds), tierStructIds,
+					bossEnum != null ? bossEnum.getKeys() : new int[0],
+					bossEnum != null ? bossEnum.getStringVals() : new String[0],
+					panel, completionLoader);
+				job.clientNanos = System.nanoTime() - startTime;
 
-				for (Map.Entry<Integer, String> tierEntry : TIER_MAP.entrySet())
+				// The structs only need copying when neither the loaded catalog nor the disk cache has them
+				TaskCatalog loaded = catalog;
+				if (loaded.getKey() == job.catalogKey && !loaded.isEmpty())
 				{
-					int enumId = tierEntry.getKey();
-					String tierName = tierEntry.getValue();
-
-					var enumComp = client.getEnum(enumId);
-					if (enumComp == null)
-					{
-						log.warn("Could not find enum for tier: {} ({})", tierName, enumId);
-						continue;
-					}
-
-					int[] structIds = enumComp.getIntVals();
-					log.debug("Processing {} tasks for tier {}", structIds.length, tierName);
+					job.loadedCatalog = loaded;
+					finishClientStage(job);
+					return;
+				}
 
-					for (int structId : structIds)
-					{
-						var struct = client.getStructComposition(structId);
-						if (struct == null)
-						{
-							log.warn("Could not find struct: {}", structId);
-							continue;
-						}
-
-						String name = struct.getStringValue(1308);
-						String description = struct.getStringValue(1309);
-						int id = struct.getIntValue(1306);
-						int typeId = struct.getIntValue(1311);
-						String type = TYPE_MAP.get(typeId);
-						int bossId = struct.getIntValue(1312);
-						String bossName = getBossName(bossId);
-
-						boolean completed = false;
-						if (id >= 0 && id < VARP_IDS.length * 32)
-						{
-							int varpIndex = id / 32;
-							int bitIndex = id % 32;
-							if (varpIndex < VARP_IDS.length)
-							{
-								int varpValue = client.getVarpValue(VARP_IDS[varpIndex]);
-								completed = (varpValue & (1 << bitIndex)) != 0;
-							}
-						}
-
-						int points = getPointsForTier(tierName);
-						CombatAchievement achievement = new CombatAchievement(
-							id, name, bossName, type, description, tierName, points, completed, false
-						);
-
-						achievements.add(achievement);
-					}
+				List<TaskDefinition> cached = catalogCache.get(job.catalogKey);
+				if (cached != null)
+				{
+					job.cachedDefinitions = cached;
+					job.cachedDecodeNanos = catalogCache.getDecodeNanos(job.catalogKey);
+					finishClientStage(job);
+					return;
 				}
 
-				log.debug("Finished loading {} achievements on client thread", achievements.size());
+				job.rows = new RawTaskBuffer(Arrays.stream(tierStructIds).mapToInt(structIds -> structIds.length).sum());
+				decodeJob = job;
 
-				completionLoader.loadCompletionPercentagesAsync()
-					.thenRun(() ->
-					{
-						completionLoader.hydrateAchievements(achievements);
-
-						SwingUtilities.invokeLater(() ->
-						{
-							if (panel != null)
-							{
-								panel.updateAchievements(achievements);
-							}
-
-							if (onDataLoadComplete != null)
-							{
-								onDataLoadComplete.accept(achievements);
-								onDataLoadComplete = null;
-							}
-						});
-					})
-					.exceptionally(throwable ->
-					{
-						log.error("Completion percentage loading failed, updating panel without percentages", throwable);
-						SwingUtilities.invokeLater(() ->
-						{
-							if (panel != null)
-							{
-								panel.updateAchievements(achievements);
-							}
-
-							if (onDataLoadComplete != null)
-							{
-								onDataLoadComplete.accept(achievements);
-								onDataLoadComplete = null;
-							}
-						});
-						return null;
-					});
-
-				dataLoadRequested = false;
+				if (config.sliceCatalogDecode())
+				{
+					log.debug("Copying task structs in slices of {} ns per tick", config.decodeBudgetNanos());
+					runDecodeSlice(config.decodeBudgetNanos());
+				}
+				else
+				{
+					runDecodeSlice(Long.MAX_VALUE);
+				}
 			}
 			catch (Exception e)
 			{
 				log.error("Failed to load Combat Achievements from client", e);
-				dataLoadRequested = false;
-				onDataLoadComplete = null;
+				decodeJob = null;
+				loadCoordinator.fail(generation);
 			}
 		});
 	}
 
-	private String getBossName(int bossId)
+	/**
+	 * Copy structs from where the current job stopped until the budget is spent, and hand the
+	 * job to the worker stage once every tier has been copied. Must be called on the client thread.
+	 */
+	private void runDecodeSlice(long budgetNanos)
 	{
+		LoadJob job = decodeJob;
 		try
 		{
-			var bossEnum = client.getEnum(3971);
-			if (bossEnum != null)
+			long sliceStart = System.nanoTime();
+			int copied = 0;
+
+			while (job.tierIndex < job.tierStructIds.length)
 			{
-				return bossEnum.getStringValue(bossId);
+				int[] structIds = job.tierStructIds[job.tierIndex];
+				if (job.structIndex >= structIds.length)
+				{
+					job.tierIndex++;
+					job.structIndex = 0;
+					continue;
+				}
+
+				copyStruct(structIds[job.structIndex++], job.tierIndex, job.rows);
+				copied++;
+
+				if (System.nanoTime() - sliceStart >= budgetNanos)
+				{
+					break;
+				}
 			}
+
+			long sliceNanos = System.nanoTime() - sliceStart;
+			job.clientNanos += sliceNanos;
+			metrics.record(LoadMetrics.STRUCT_COPY_SLICE, sliceNanos);
+
+			if (job.tierIndex < job.tierStructIds.length)
+			{
+				log.debug("Copied {} structs in {} us, resuming next tick", copied, sliceNanos / 1000);
+				return;
+			}
+
+			decodeJob = null;
+			finishClientStage(job);
 		}
 		catch (Exception e)
 		{
-			log.warn("Failed to get boss name for ID {}: {}", bossId, e.getMessage());
+			log.error("Failed to decode Combat Achievements from client", e);
+			decodeJob = null;
+			loadCoordinator.fail(job.generation);
 		}
-		return "Unknown";
 	}
 
-	private int getPointsForTier(String tier)
+	/**
+	 * Snapshot the account's completion varps, the last client thread work of a load, and run
+	 * the remaining stages off the client thread.
+	 */
+	private void finishClientStage(LoadJob job)
+	{
+		long startTime = System.nanoTime();
+		job.state = CompletionState.read(client);
+		completionState = job.state;
+		long varpNanos = System.nanoTime() - startTime;
+		job.clientNanos += varpNanos;
+		metrics.record(LoadMetrics.VARP_READ, varpNanos);
+		metrics.record(LoadMetrics.CLIENT_THREAD, job.clientNanos);
+
+		CompletableFuture.supplyAsync(() -> buildCatalog(job))
+			.thenAccept(taskCatalog ->
+			{
+				// Publish right away, percentages still in flight are patched in when they arrive
+				boolean hydrated = hydrateCatalog(taskCatalog, job);
+				SwingUtilities.invokeLater(() -> publishCatalog(taskCatalog, job));
+				if (!hydrated || job.completionLoader.isFetchInFlight())
+				{
+					patchPercentagesWhenLoaded(taskCatalog, job);
+				}
+			})
+			.exceptionally(throwable ->
+			{
+				log.error("Failed to build Combat Achievements from client data", throwable);
+				loadCoordinator.fail(job.generation);
+				return null;
+			});
+	}
+
+	/**
+	 * Worker stage: resolve type and boss names and build the catalog and its masks, or reuse
+	 * the loaded catalog when the struct ids are unchanged.
+	 */
+	private TaskCatalog buildCatalog(LoadJob job)
+	{
+		long startTime = System.nanoTime();
+		TaskCatalog current = catalog;
+		if (job.loadedCatalog != null && (current.getKey() != job.catalogKey || current.isEmpty()))
+		{
+			// Replaced since the client thread found it loaded
+			current = job.loadedCatalog;
+		}
+		if (current.getKey() == job.catalogKey && !current.isEmpty())
+		{
+			job.buildNanos = System.nanoTime() - startTime;
+			metrics.increment(LoadMetrics.CATALOG_REUSED);
+			log.debug("Reusing the loaded catalog of {} achievements", current.getAchievements().size());
+			return current;
+		}
+
+		BossNameTable bossNames = BossNameTable.decode(job.bossKeys, job.bossValues);
+		bossNameTable = bossNames;
+
+		List<TaskDefinition> definitions;
+		if (job.rows != null)
+		{
+			definitions = buildDefinitions(job.rows, bossNames);
+			metrics.increment(LoadMetrics.CATALOG_DECODES);
+
+			// Don't persist a partial catalog if a tier enum was missing
+			if (Arrays.stream(job.tierStructIds).allMatch(structIds -> structIds.length > 0))
+			{
+				catalogCache.saveAsync(job.catalogKey, job.clientNanos, definitions);
+			}
+		}
+		else
+		{
+			definitions = job.cachedDefinitions;
+			metrics.increment(LoadMetrics.CATALOG_CACHE_HITS);
+			log.debug("Loaded {} achievements from catalog cache, saved {} us of client thread time",
+				definitions.size(), Math.max(0, job.cachedDecodeNanos - job.clientNanos) / 1000);
+		}
+
+		TaskCatalog taskCatalog = TaskCatalog.build(job.catalogKey, definitions);
+		catalog = taskCatalog;
+		job.buildNanos = System.nanoTime() - startTime;
+		metrics.record(LoadMetrics.CATALOG_BUILD, job.buildNanos);
+		return taskCatalog;
+	}
+
+	/**
+	 * @return true if the percentages were already loaded and have been applied
+	 */
+	private boolean hydrateCatalog(TaskCatalog taskCatalog, LoadJob job)
+	{
+		if (!job.completionLoader.isDataLoaded())
+		{
+			return false;
+		}
+
+		long startTime = System.nanoTime();
+		job.percentagesFrom = job.completionLoader.getPercentages();
+		job.percentages = job.completionLoader.hydrateAchievements(taskCatalog.getAchievements());
+		job.hydrateNanos = System.nanoTime() - startTime;
+		return true;
+	}
+
+	private void patchPercentagesWhenLoaded(TaskCatalog taskCatalog, LoadJob job)
+	{
+		long startTime = System.nanoTime();
+		job.completionLoader.loadCompletionPercentagesAsync()
+			.thenRun(() ->
+			{
+				if (!job.completionLoader.isDataLoaded())
+				{
+					log.debug("Wiki percentages unavailable, keeping the task list without them");
+					return;
+				}
+
+				PercentageTable percentagesFrom = job.completionLoader.getPercentages();
+				TaskPercentages percentages = job.completionLoader.hydrateAchievements(taskCatalog.getAchievements());
+				log.debug("Resolved wiki percentages {} us after the task list was built", (System.nanoTime() - startTime) / 1000);
+
+				// The achievements are shared with the EDT, which renders and sorts them, so only it writes them
+				SwingUtilities.invokeLater(() ->
+				{
+					if (!loadCoordinator.isCurrent(job.generation))
+					{
+						return;
+					}
+
+					latestPercentages(percentages, percentagesFrom, taskCatalog, job).applyTo(taskCatalog.getAchievements());
+					if (job.panel != null)
+					{
+						job.panel.applyCompletionPercentages();
+					}
+				});
+			});
+	}
+
+	/**
+	 * A wiki refresh may have delivered a newer table to the panel since the worker resolved
+	 * these percentages, in which case applying them would undo it. Re-resolve from the current
+	 * table instead. Must be called on the EDT.
+	 */
+	private TaskPercentages latestPercentages(TaskPercentages resolved, PercentageTable resolvedFrom,
+											  TaskCatalog taskCatalog, LoadJob job)
+	{
+		if (job.completionLoader.getPercentages() == resolvedFrom)
+		{
+			return resolved;
+		}
+
+		log.debug("Wiki table changed while the task list was loading, resolving its percentages again");
+		return job.completionLoader.hydrateAchievements(taskCatalog.getAchievements());
+	}
+
+	/**
+	 * EDT stage: apply the account's progress to the shared catalog and hand it to the panel
+	 */
+	private void publishCatalog(TaskCatalog taskCatalog, LoadJob job)
+	{
+		// A newer load was started while this one was in flight and will publish instead
+		List<Consumer<List<CombatAchievement>>> callbacks = loadCoordinator.complete(job.generation);
+		if (callbacks == null)
+		{
+			metrics.increment(LoadMetrics.LOADS_STALE);
+			return;
+		}
+
+		long startTime = System.nanoTime();
+
+		// Varp diffs may have landed while the worker stages ran, prefer the newest snapshot
+		CompletionState state = completionState != null ? completionState : job.state;
+		taskCatalog.applyProgress(state);
+		if (job.percentages != null)
+		{
+			latestPercentages(job.percentages, job.percentagesFrom, taskCatalog, job).applyTo(taskCatalog.getAchievements());
+		}
+
+		if (job.panel != null)
+		{
+			job.panel.updateAchievements(taskCatalog, state);
+		}
+
+		for (Consumer<List<CombatAchievement>> callback : callbacks)
+		{
+			callback.accept(taskCatalog.getAchievements());
+		}
+
+		long publishNanos = System.nanoTime() - startTime;
+		metrics.record(LoadMetrics.PUBLISH, publishNanos);
+		log.debug("Loaded {} achievements: client thread {} us, build {} us, hydrate {} us, EDT {} us",
+			taskCatalog.getAchievements().size(), job.clientNanos / 1000, job.buildNanos / 1000,
+			job.hydrateNanos / 1000, publishNanos / 1000);
+	}
+
+	private int[][] readTierStructIds()
+	{
+		int[][] tierStructIds = new int[TIER_ENUM_IDS.length][];
+		for (int i = 0; i < TIER_ENUM_IDS.length; i++)
+		{
+			var enumComp = client.getEnum(TIER_ENUM_IDS[i]);
+			if (enumComp == null)
+			{
+				log.warn("Could not find enum for tier: {} ({})", TIER_MAP.get(TIER_ENUM_IDS[i]), TIER_ENUM_IDS[i]);
+				tierStructIds[i] = new int[0];
+				continue;
+			}
+			tierStructIds[i] = enumComp.getIntVals();
+		}
+		return tierStructIds;
+	}
+
+	private void copyStruct(int structId, int tierIndex, RawTaskBuffer rows)
+	{
+		var struct = client.getStructComposition(structId);
+		if (struct == null)
+		{
+			log.warn("Could not find struct: {}", structId);
+			return;
+		}
+
+		rows.add(struct.getIntValue(1306), tierIndex, struct.getIntValue(1311), struct.getIntValue(1312),
+			struct.getStringValue(1308), struct.getStringValue(1309));
+	}
+
+	private static List<TaskDefinition> buildDefinitions(RawTaskBuffer rows, BossNameTable bossNames)
 	{
-		switch (tier.toLowerCase())
+		List<TaskDefinition> definitions = new ArrayList<>(rows.size);
+		for (int i = 0; i < rows.size; i++)
 		{
-			case "easy":
-				return 1;
-			case "medium":
-				return 2;
-			case "hard":
-				return 3;
-			case "elite":
-				return 4;
-			case "master":
-				return 5;
-			case "grandmaster":
-				return 6;
-			default:
-				return 1;
+			String tierName = TIER_MAP.get(TIER_ENUM_IDS[rows.tierIndexes[i]]);
+			String type = TYPE_MAP.get(rows.typeIds[i]);
+			int bossId = rows.bossIds[i];
+			definitions.add(new TaskDefinition(rows.ids[i], rows.names[i], rows.descriptions[i], tierName, type, bossId, bossNames.getName(bossId)));
 		}
+		return definitions;
 	}
 }
\ No newline at end of file
@@ -25,191 +25,436 @@
 package com.catracker.util;
 
 import com.catracker.model.CombatAchievement;
+import com.catracker.model.TaskPercentages;
 import lombok.extern.slf4j.Slf4j;
 
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Slf4j
 public class CompletionPercentageLoader
 {
 	private static final String WIKI_URL = "https://oldschool.runescape.wiki/w/Combat_Achievements/All_tasks";
-	private final Map<String, Double> completionPercentages = new HashMap<>();
-	private boolean isLoaded = false;
+	private static final long CONNECT_TIMEOUT_SECONDS = 10;
+	private static final long READ_TIMEOUT_SECONDS = 15;
+	private static final long CALL_TIMEOUT_SECONDS = 30;
+	private static final long FETCH_LOCK_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(CALL_TIMEOUT_SECONDS + 5);
+	private static final long MIN_REFRESH_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+	private static final long MAX_BACKOFF_MILLIS = TimeUnit.HOURS.toMillis(1);
+	// Spreads the refreshes of clients started together so they do not hit the wiki at once
+	private static final double REFRESH_JITTER = 0.1;
+	private CompletableFuture<Void> pendingLoad;
+
+	// The published table and its validators, replaced as a whole by each fetch. Readers take
+	// one read of this field and never see a partially built table.
+	private volatile PercentageCache.Snapshot snapshot;
 
 	private OkHttpClient okHttpClient;
+	private final PercentageCache percentageCache;
+	private final RarityHistory rarityHistory;
+	private final IoExecutor ioExecutor;
+	private final LoadMetrics metrics;
+
+	private volatile Call activeCall;
+	private volatile boolean cancelled = false;
 
-	public CompletionPercentageLoader(OkHttpClient okHttpClient)
+	private ScheduledFuture<?> refreshTask;
+	private volatile int consecutiveFailures = 0;
+	private Consumer<PercentageTable> tableChangeListener;
+
+	public CompletionPercentageLoader(OkHttpClient okHttpClient, PercentageCache percentageCache,
+									  RarityHistory rarityHistory, IoExecutor ioExecutor, LoadMetrics metrics)
 	{
-		this.okHttpClient = okHttpClient;
+		this.percentageCache = percentageCache;
+		this.rarityHistory = rarityHistory;
+		this.ioExecutor = ioExecutor;
+		this.metrics = metrics;
+		setOkHttpClient(okHttpClient);
 	}
 
 	public void setOkHttpClient(OkHttpClient okHttpClient)
 	{
-		this.okHttpClient = okHttpClient;
+		// Bound every wiki call, the shared client has no overall call timeout
+		this.okHttpClient = okHttpClient.newBuilder()
+			.connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.build();
+	}
+
+	/**
+	 * Abort the wiki call in flight and stop starting new ones
+	 */
+	public synchronized void cancel()
+	{
+		cancelled = true;
+		Call call = activeCall;
+		if (call != null)
+		{
+			call.cancel();
+		}
+		if (pendingLoad != null)
+		{
+			pendingLoad.cancel(true);
+		}
+		if (refreshTask != null)
+		{
+			refreshTask.cancel(false);
+		}
+	}
+
+	/**
+	 * Called on an I/O thread with each newly downloaded table, after it has been published
+	 */
+	public synchronized void setTableChangeListener(Consumer<PercentageTable> listener)
+	{
+		this.tableChangeListener = listener;
+	}
+
+	/**
+	 * Keep revalidating the table for as long as the plugin runs. The current table keeps being
+	 * served while a refresh is in flight, failed refreshes are retried with exponential backoff.
+	 */
+	public synchronized void startBackgroundRefresh()
+	{
+		if (refreshTask == null)
+		{
+			scheduleRefresh(0);
+		}
+	}
+
+	private synchronized void scheduleRefresh(long delayMillis)
+	{
+		if (cancelled)
+		{
+			return;
+		}
+
+		log.debug("Next completion percentage refresh in {} s", delayMillis / 1000);
+		refreshTask = ioExecutor.schedule(() -> loadCompletionPercentagesAsync()
+				.whenComplete((ignored, e) -> scheduleRefresh(nextRefreshDelayMillis())),
+			delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private long nextRefreshDelayMillis()
+	{
+		long delay;
+		int failures = consecutiveFailures;
+		if (failures > 0)
+		{
+			delay = Math.min(MAX_BACKOFF_MILLIS, MIN_REFRESH_DELAY_MILLIS << Math.min(failures - 1, 16));
+		}
+		else
+		{
+			PercentageCache.Snapshot current = snapshot;
+			long untilStale = current != null ? current.millisUntilStale(System.currentTimeMillis()) : 0;
+			delay = Math.max(MIN_REFRESH_DELAY_MILLIS, untilStale);
+		}
+
+		// Only ever later, so the refresh never lands while the snapshot is still fresh
+		return delay + (long) (delay * REFRESH_JITTER * ThreadLocalRandom.current().nextDouble());
+	}
+
+	/**
+	 * Start fetching the percentages unless they are already loaded and fresh, so the request
+	 * overlaps with login and the catalog decode instead of following them
+	 */
+	public synchronized void prefetch()
+	{
+		PercentageCache.Snapshot current = snapshot;
+		if (current == null || !current.isFresh(System.currentTimeMillis()))
+		{
+			loadCompletionPercentagesAsync();
+		}
+	}
+
+	/**
+	 * @return true while a fetch or revalidation is running
+	 */
+	public synchronized boolean isFetchInFlight()
+	{
+		return pendingLoad != null && !pendingLoad.isDone();
 	}
 
-	public CompletableFuture<Void> loadCompletionPercentagesAsync()
+	/**
+	 * @return the fetch in flight, or a new one if none is running
+	 */
+	public synchronized CompletableFuture<Void> loadCompletionPercentagesAsync()
 	{
-		return CompletableFuture.runAsync(() ->
+		if (pendingLoad != null && !pendingLoad.isDone())
+		{
+			return pendingLoad;
+		}
+
+		if (cancelled)
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+
+		pendingLoad = ioExecutor.runAsync(() ->
 		{
 			try
 			{
-				loadCompletionPercentages();
-				isLoaded = true;
-				log.debug("Completion percentage loading completed successfully");
+				if (loadCompletionPercentages())
+				{
+					consecutiveFailures = 0;
+					log.debug("Completion percentage loading completed successfully");
+				}
+				else
+				{
+					consecutiveFailures++;
+				}
 			}
 			catch (Exception e)
 			{
+				if (cancelled)
+				{
+					log.debug("Completion percentage loading cancelled");
+					return;
+				}
+				consecutiveFailures++;
+				metrics.increment(LoadMetrics.WIKI_FAILURES);
 				log.error("Failed to load completion percentages", e);
 			}
 		});
+		return pendingLoad;
 	}
 
-	private void loadCompletionPercentages() throws Exception
+	/**
+	 * @return false if the wiki could not be reached and the cached snapshot was kept
+	 */
+	private boolean loadCompletionPercentages() throws Exception
 	{
-		Request request = new Request.Builder()
-			.url(WIKI_URL)
-			.header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-			.build();
+		PercentageCache.Snapshot current = snapshot;
+		if (current == null || !current.isFresh(System.currentTimeMillis()))
+		{
+			// Serve whatever another client or an earlier run published, even if it has to be revalidated below
+			current = adoptSharedSnapshot(current);
+		}
 
-		try (Response response = okHttpClient.newCall(request).execute())
+		if (current != null && current.isFresh(System.currentTimeMillis()))
 		{
-			if (!response.isSuccessful())
-			{
-				String unsuccessful = "Wiki request unsuccessful with status " + response.code();
-				if (response.body() == null)
-				{
-					unsuccessful += " and body \n" + response.body().string();
-				}
-				log.error(unsuccessful);
-				throw new Exception(unsuccessful);
-			}
+			log.debug("Using cached completion percentages");
+			return true;
+		}
 
-			if (response.body() == null)
+		// One client per host fetches, the others wait for it and then map what it published
+		try (PercentageCache.FetchLock ignored = percentageCache.lockForFetch(FETCH_LOCK_TIMEOUT_MILLIS))
+		{
+			current = adoptSharedSnapshot(current);
+			if (current != null && current.isFresh(System.currentTimeMillis()))
 			{
-				log.error("Wiki response returned without body");
-				throw new Exception("Wiki response returned without body");
+				log.debug("Using completion percentages fetched by another client");
+				return true;
 			}
-
-			String html = response.body().string();
-			parseCompletionPercentages(html);
+			return fetchFromWiki(current);
 		}
-		catch (IOException e)
+	}
+
+	/**
+	 * @return the shared snapshot if it is newer than the given one, otherwise the given one
+	 */
+	private PercentageCache.Snapshot adoptSharedSnapshot(PercentageCache.Snapshot current)
+	{
+		PercentageCache.Snapshot shared = percentageCache.readNewerThan(current);
+		if (shared == null)
 		{
-			log.error("Failed to fetch completion percentages from wiki", e);
-			throw new Exception("Failed to fetch completion percentages from wiki", e);
+			return current;
 		}
+
+		metrics.increment(LoadMetrics.WIKI_SHARED_READS);
+		snapshot = shared;
+		notifyTableChanged(shared.getPercentages());
+		return shared;
 	}
 
-	private void parseCompletionPercentages(String html)
+	private boolean fetchFromWiki(PercentageCache.Snapshot current) throws Exception
 	{
-		Pattern rowPattern = Pattern.compile("<tr[^>]*data-ca-task-id=\"\\d+\"[^>]*>(.*?)</tr>", Pattern.DOTALL);
-		Matcher rowMatcher = rowPattern.matcher(html);
+		long now = System.currentTimeMillis();
+		Request.Builder requestBuilder = new Request.Builder()
+			.url(WIKI_URL)
+			.header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
+		if (current != null)
+		{
+			if (current.getEtag() != null)
+			{
+				requestBuilder.header("If-None-Match", current.getEtag());
+			}
+			if (current.getLastModified() != null)
+			{
+				requestBuilder.header("If-Modified-Since", current.getLastModified());
+			}
+		}
 
-		while (rowMatcher.find())
+		long startTime = System.nanoTime();
+		Call call = okHttpClient.newCall(requestBuilder.build());
+		activeCall = call;
+		try (Response response = call.execute())
 		{
-			String row = rowMatcher.group(1);
+			if (response.code() == 304 && current != null)
+			{
+				metrics.record(LoadMetrics.WIKI_FETCH, System.nanoTime() - startTime);
+				metrics.increment(LoadMetrics.WIKI_NOT_MODIFIED);
+				publish(current.revalidated(now));
+				log.debug("Wiki completion percentages unchanged since the last fetch");
+				return true;
+			}
 
-			String[] cells = row.split("</td>");
-			if (cells.length >= 6)
+			ResponseBody body = response.body();
+			if (!response.isSuccessful())
 			{
-				String taskName = extractTaskName(cells[1]);
-				String percentageStr = extractPercentage(cells[5]);
+				return fetchFailed(current, "Wiki request unsuccessful with status " + response.code(), null);
+			}
+			if (body == null)
+			{
+				return fetchFailed(current, "Wiki response returned without body", null);
+			}
 
-				if (taskName != null && percentageStr != null)
-				{
-					try
-					{
-						double percentage = Double.parseDouble(percentageStr);
-						completionPercentages.put(taskName.trim(), percentage);
-					}
-					catch (NumberFormatException e)
-					{
-						log.warn("Could not parse percentage for task: {}", taskName);
-					}
-				}
+			metrics.record(LoadMetrics.WIKI_FETCH, System.nanoTime() - startTime);
+
+			// The body is parsed as it downloads, so parse time includes the transfer
+			long parseStart = System.nanoTime();
+			long allocationStart = LoadMetrics.allocatedBytes();
+			PercentageTable.Builder builder = new PercentageTable.Builder();
+			WikiPercentageParser parser = new WikiPercentageParser(body.charStream(), builder::add);
+			parser.parse();
+			PercentageTable percentages = builder.build();
+			long parseNanos = System.nanoTime() - parseStart;
+			long parseBytes = LoadMetrics.allocatedSince(allocationStart);
+			metrics.record(LoadMetrics.WIKI_PARSE, parseNanos, parseBytes);
+			log.debug("Parsed {} completion percentages from {} chars in {} ms ({} MB/s, {} bytes allocated per row)",
+				parser.getRowsRead(), parser.getCharsRead(), parseNanos / 1_000_000,
+				String.format("%.1f", parser.getCharsRead() * 1000.0 / Math.max(1, parseNanos)),
+				parseBytes / Math.max(1, parser.getRowsRead()));
+
+			publish(new PercentageCache.Snapshot(now, response.header("ETag"), response.header("Last-Modified"), percentages));
+			// Only the client that fetched records the history, under the host-wide fetch lock
+			rarityHistory.append(now, percentages);
+			notifyTableChanged(percentages);
+			return true;
+		}
+		catch (IOException e)
+		{
+			if (cancelled)
+			{
+				throw e;
 			}
+			return fetchFailed(current, "Failed to fetch completion percentages from wiki: " + e.getMessage(), e);
 		}
-
-		log.debug("Loaded {} completion percentages", completionPercentages.size());
 	}
 
-	private String extractTaskName(String cell)
+	/**
+	 * Keep serving the cached snapshot after a failed fetch, or fail the load if there is none
+	 *
+	 * @return false, the table was not refreshed
+	 */
+	private boolean fetchFailed(PercentageCache.Snapshot current, String message, Exception cause) throws Exception
 	{
-		Pattern namePattern = Pattern.compile("<a[^>]*title=\"([^\"]+)\"[^>]*>([^<]+)</a>");
-		Matcher nameMatcher = namePattern.matcher(cell);
-		if (nameMatcher.find())
+		if (current != null)
 		{
-			return nameMatcher.group(2).trim();
+			log.warn("{}, using the cached snapshot", message);
+			metrics.increment(LoadMetrics.WIKI_FAILURES);
+			return false;
 		}
-		return null;
+		log.error(message, cause);
+		throw new Exception(message, cause);
+	}
+
+	/**
+	 * Swap in a fully built snapshot and persist it
+	 */
+	void publish(PercentageCache.Snapshot newSnapshot)
+	{
+		snapshot = newSnapshot;
+		percentageCache.write(newSnapshot);
 	}
 
-	private String extractPercentage(String cell)
+	private void notifyTableChanged(PercentageTable percentages)
 	{
-		Pattern percentagePattern = Pattern.compile("([0-9.]+)%");
-		Matcher percentageMatcher = percentagePattern.matcher(cell);
-		if (percentageMatcher.find())
+		Consumer<PercentageTable> listener;
+		synchronized (this)
 		{
-			return percentageMatcher.group(1);
+			listener = tableChangeListener;
+		}
+		if (listener != null)
+		{
+			listener.accept(percentages);
 		}
-		return null;
 	}
 
-	public void hydrateAchievements(List<CombatAchievement> achievements)
+	/**
+	 * Resolve the current table's percentage for each achievement. Only reads the achievements'
+	 * ids and names, so it is safe off the EDT; the result is applied on the EDT.
+	 */
+	public TaskPercentages hydrateAchievements(List<CombatAchievement> achievements)
 	{
-		if (achievements == null)
+		if (achievements == null || achievements.isEmpty())
 		{
-			return;
+			return TaskPercentages.EMPTY;
 		}
 
+		long startTime = System.nanoTime();
+		long allocationStart = LoadMetrics.allocatedBytes();
+		PercentageTable percentages = getPercentages();
+		int maxId = -1;
 		for (CombatAchievement achievement : achievements)
 		{
-			String name = achievement.getName();
-			Double percentage = completionPercentages.get(name);
+			maxId = Math.max(maxId, achievement.getId());
+		}
 
+		float[] percentagesById = new float[maxId + 1];
+		Arrays.fill(percentagesById, Float.NaN);
+		int nameFallbacks = 0;
+		int misses = 0;
+		for (CombatAchievement achievement : achievements)
+		{
+			Double percentage = percentages.getById(achievement.getId());
 			if (percentage == null)
 			{
-				String normalizedName = normalizeTaskName(name);
-				for (Map.Entry<String, Double> entry : completionPercentages.entrySet())
-				{
-					if (normalizeTaskName(entry.getKey()).equals(normalizedName))
-					{
-						percentage = entry.getValue();
-						break;
-					}
-				}
+				// The slow path, hashing and normalizing the name
+				nameFallbacks++;
+				percentage = percentages.get(achievement.getId(), achievement.getName());
+				misses += percentage == null ? 1 : 0;
+			}
+			if (percentage != null)
+			{
+				percentagesById[achievement.getId()] = percentage.floatValue();
 			}
-
-			achievement.setCompletionPercentage(percentage);
 		}
+		metrics.record(LoadMetrics.WIKI_HYDRATE, System.nanoTime() - startTime, LoadMetrics.allocatedSince(allocationStart));
+		metrics.increment(LoadMetrics.WIKI_NAME_FALLBACKS, nameFallbacks);
+		metrics.increment(LoadMetrics.WIKI_HYDRATE_MISSES, misses);
+		return TaskPercentages.wrap(percentagesById);
 	}
 
-	private String normalizeTaskName(String name)
+	public boolean isDataLoaded()
 	{
-		return name.toLowerCase()
-			.replaceAll("[^a-z0-9\\s]", "")
-			.replaceAll("\\s+", " ")
-			.trim();
+		return snapshot != null;
 	}
 
-	public boolean isDataLoaded()
+	/**
+	 * @return the current table, safe to read while a refetch is in flight
+	 */
+	public PercentageTable getPercentages()
 	{
-		return isLoaded;
+		PercentageCache.Snapshot current = snapshot;
+		return current != null ? current.getPercentages() : PercentageTable.EMPTY;
 	}
 
 	public Double getCompletionPercentage(String taskName)
 	{
-		return completionPercentages.get(taskName);
+		return getPercentages().getByName(taskName);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small bounded pool for the plugin's blocking network and disk work, so a slow wiki response
+ * never holds a common pool worker. Shut down with the plugin, which interrupts running tasks.
+ */
+@Slf4j
+public class IoExecutor
+{
+	private static final int THREADS = 2;
+	private static final int QUEUE_CAPACITY = 16;
+
+	private final ThreadPoolExecutor executor;
+	// Only fires timers, the work they start runs on the pool
+	private final ScheduledExecutorService scheduler;
+	private final LoadMetrics metrics;
+
+	public IoExecutor(LoadMetrics metrics)
+	{
+		this.metrics = metrics;
+		this.executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+			new ThreadFactoryBuilder()
+				.setNameFormat("ca-tracker-io-%d")
+				.setDaemon(true)
+				.build());
+		executor.allowCoreThreadTimeOut(true);
+		this.scheduler = new ScheduledThreadPoolExecutor(1,
+			new ThreadFactoryBuilder()
+				.setNameFormat("ca-tracker-io-timer")
+				.setDaemon(true)
+				.build());
+	}
+
+	/**
+	 * Run a short task on the timer thread after a delay, blocking work should be passed on to
+	 * {@link #runAsync}
+	 *
+	 * @return a future that cancels the task if it has not started yet
+	 */
+	public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit)
+	{
+		return scheduler.schedule(task, delay, unit);
+	}
+
+	/**
+	 * Run a blocking task on the pool, recording how long it queued and how long it ran
+	 *
+	 * @return a future completing with the task, or failed if the pool is full or shut down
+	 */
+	public CompletableFuture<Void> runAsync(Runnable task)
+	{
+		long submitted = System.nanoTime();
+		try
+		{
+			return CompletableFuture.runAsync(() ->
+			{
+				long started = System.nanoTime();
+				metrics.record(LoadMetrics.IO_QUEUE_WAIT, started - submitted);
+				try
+				{
+					task.run();
+				}
+				finally
+				{
+					metrics.record(LoadMetrics.IO_TASK, System.nanoTime() - started);
+				}
+			}, executor);
+		}
+		catch (RejectedExecutionException e)
+		{
+			log.warn("I/O task rejected, {} tasks queued", executor.getQueue().size());
+			CompletableFuture<Void> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(e);
+			return rejected;
+		}
+	}
+
+	/**
+	 * Stop accepting tasks and interrupt the ones running
+	 */
+	public void shutdown()
+	{
+		scheduler.shutdownNow();
+		executor.shutdownNow();
+	}
+}
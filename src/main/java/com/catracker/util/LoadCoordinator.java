@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import com.catracker.model.CombatAchievement;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces load requests from the client thread, the EDT and worker threads. Requests made
+ * before the next game tick are merged into one load, each load is tagged with an increasing
+ * generation, and only the newest generation may publish its result to the waiting callbacks.
+ * A callback is only handed to a load started after it was registered, so it never receives
+ * data read before its request.
+ */
+@Slf4j
+public class LoadCoordinator
+{
+	private long generation;
+	private boolean pending;
+	private int coalesced;
+	private final List<Waiter> waiters = new ArrayList<>();
+
+	private static class Waiter
+	{
+		private final Consumer<List<CombatAchievement>> callback;
+		// The newest generation already started when the callback was registered
+		private final long registeredGeneration;
+
+		private Waiter(Consumer<List<CombatAchievement>> callback, long registeredGeneration)
+		{
+			this.callback = callback;
+			this.registeredGeneration = registeredGeneration;
+		}
+	}
+
+	/**
+	 * Request a load on the next game tick, merging with any request not yet started
+	 */
+	public synchronized void request()
+	{
+		if (pending)
+		{
+			coalesced++;
+		}
+		pending = true;
+	}
+
+	/**
+	 * Request a load and receive its achievements once it is published
+	 */
+	public synchronized void request(Consumer<List<CombatAchievement>> callback)
+	{
+		waiters.add(new Waiter(callback, generation));
+		request();
+	}
+
+	/**
+	 * Start the pending load, if any. Any load still in flight becomes stale.
+	 *
+	 * @return the generation of the new load, or -1 if nothing was requested
+	 */
+	public synchronized long startPending()
+	{
+		if (!pending)
+		{
+			return -1;
+		}
+
+		pending = false;
+		generation++;
+		if (coalesced > 0)
+		{
+			log.debug("Load generation {} coalesced {} extra requests", generation, coalesced);
+			coalesced = 0;
+		}
+		return generation;
+	}
+
+	public synchronized boolean isCurrent(long loadGeneration)
+	{
+		return loadGeneration == generation;
+	}
+
+	/**
+	 * Finish a load. A superseded generation gets nothing back, its result must be discarded.
+	 * Callbacks registered after this load started are kept for the load their request queued.
+	 *
+	 * @return the callbacks this load serves, or null if the load is stale
+	 */
+	public synchronized List<Consumer<List<CombatAchievement>>> complete(long loadGeneration)
+	{
+		if (loadGeneration != generation)
+		{
+			log.debug("Discarding stale load generation {}, current is {}", loadGeneration, generation);
+			return null;
+		}
+
+		if (waiters.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+
+		List<Consumer<List<CombatAchievement>>> served = new ArrayList<>();
+		Iterator<Waiter> it = waiters.iterator();
+		while (it.hasNext())
+		{
+			Waiter waiter = it.next();
+			if (waiter.registeredGeneration < loadGeneration)
+			{
+				served.add(waiter.callback);
+				it.remove();
+			}
+		}
+		return served;
+	}
+
+	/**
+	 * Record a failed load. Its callbacks stay queued and are served by the next load that
+	 * completes, a failure is never retried on its own so a logged out client doesn't spin.
+	 */
+	public synchronized void fail(long loadGeneration)
+	{
+		if (loadGeneration == generation && !waiters.isEmpty())
+		{
+			log.debug("Load generation {} failed, {} callbacks wait for the next load", loadGeneration, waiters.size());
+		}
+	}
+}
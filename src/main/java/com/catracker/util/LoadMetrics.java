@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight timers and counters for the load phases. Timers keep count, min, max and mean
+ * over their lifetime and percentiles over the most recent {@link #WINDOW} samples, plus bytes
+ * allocated per op where the caller measured it.
+ */
+@Slf4j
+public class LoadMetrics
+{
+	public static final String STRUCT_COPY_SLICE = "load.structCopySlice";
+	public static final String VARP_READ = "load.varpRead";
+	public static final String CLIENT_THREAD = "load.clientThread";
+	public static final String CATALOG_BUILD = "load.catalogBuild";
+	public static final String PUBLISH = "load.publish";
+	public static final String WIKI_FETCH = "wiki.fetch";
+	public static final String WIKI_PARSE = "wiki.parse";
+	public static final String WIKI_HYDRATE = "wiki.hydrate";
+	public static final String BUILD_ALL_TABS = "ui.buildAllTabs";
+	public static final String REBUILD_TAB = "ui.rebuildTab";
+	public static final String BIND_ROWS = "ui.bindRows";
+	public static final String SEARCH = "ui.search";
+	public static final String IO_QUEUE_WAIT = "io.queueWait";
+	public static final String IO_TASK = "io.task";
+
+	public static final String LOADS_STARTED = "load.started";
+	public static final String LOADS_STALE = "load.stale";
+	public static final String CATALOG_REUSED = "catalog.reused";
+	public static final String CATALOG_CACHE_HITS = "catalog.cacheHits";
+	public static final String CATALOG_DECODES = "catalog.decodes";
+	public static final String VARP_DIFFS = "completion.varpDiffs";
+	public static final String WIKI_FAILURES = "wiki.failures";
+	public static final String WIKI_NOT_MODIFIED = "wiki.notModified";
+	public static final String WIKI_ROWS_CHANGED = "wiki.rowsChanged";
+	public static final String WIKI_SHARED_READS = "wiki.sharedReads";
+	public static final String WIKI_NAME_FALLBACKS = "wiki.hydrateNameFallbacks";
+	public static final String WIKI_HYDRATE_MISSES = "wiki.hydrateMisses";
+	public static final String ROWS_CREATED = "ui.rowsCreated";
+	public static final String ROWS_REBOUND = "ui.rowsRebound";
+	public static final String ROWS_REUSED = "ui.rowsReused";
+	public static final String SEARCHES_CANCELLED = "ui.searchesCancelled";
+
+	private static final int WINDOW = 256;
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = allocationTrackingBean();
+
+	private final Map<String, Timer> timers = new LinkedHashMap<>();
+	// Counters are bumped on every scroll layout, so they are lock free; the lock only guards
+	// adding a new one and the order they are listed in
+	private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+	private final List<String> counterNames = new ArrayList<>();
+
+	private static class Timer
+	{
+		private final long[] window = new long[WINDOW];
+		private long count;
+		private long min = Long.MAX_VALUE;
+		private long max;
+		private long total;
+		private long allocationCount;
+		private long allocatedTotal;
+
+		private void record(long nanos, long allocatedBytes)
+		{
+			window[(int) (count % WINDOW)] = nanos;
+			count++;
+			min = Math.min(min, nanos);
+			max = Math.max(max, nanos);
+			total += nanos;
+			if (allocatedBytes >= 0)
+			{
+				allocationCount++;
+				allocatedTotal += allocatedBytes;
+			}
+		}
+
+		private long[] sortedWindow()
+		{
+			long[] samples = Arrays.copyOf(window, (int) Math.min(count, WINDOW));
+			Arrays.sort(samples);
+			return samples;
+		}
+	}
+
+	public void record(String name, long nanos)
+	{
+		record(name, nanos, -1);
+	}
+
+	/**
+	 * @param allocatedBytes bytes the op allocated, from {@link #allocatedSince}, or -1 if unknown
+	 */
+	public synchronized void record(String name, long nanos, long allocatedBytes)
+	{
+		timers.computeIfAbsent(name, k -> new Timer()).record(nanos, allocatedBytes);
+	}
+
+	/**
+	 * @return bytes allocated so far by the calling thread, or -1 if the JVM isn't tracking them
+	 */
+	public static long allocatedBytes()
+	{
+		if (THREAD_BEAN == null || !THREAD_BEAN.isThreadAllocatedMemoryEnabled())
+		{
+			return -1;
+		}
+		return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * @return bytes allocated by the calling thread since {@link #allocatedBytes} returned the given value
+	 */
+	public static long allocatedSince(long start)
+	{
+		long now = allocatedBytes();
+		return start >= 0 && now >= 0 ? now - start : -1;
+	}
+
+	public void increment(String name)
+	{
+		increment(name, 1);
+	}
+
+	public void increment(String name, long delta)
+	{
+		LongAdder counter = counters.get(name);
+		if (counter == null)
+		{
+			counter = addCounter(name);
+		}
+		counter.add(delta);
+	}
+
+	private synchronized LongAdder addCounter(String name)
+	{
+		return counters.computeIfAbsent(name, k ->
+		{
+			counterNames.add(k);
+			return new LongAdder();
+		});
+	}
+
+	public synchronized void reset()
+	{
+		timers.clear();
+		counters.clear();
+		counterNames.clear();
+	}
+
+	/**
+	 * @return one formatted line per timer and counter, in the order they were first recorded
+	 */
+	public synchronized List<String> snapshot()
+	{
+		List<String> lines = new ArrayList<>(timers.size() + counterNames.size());
+		for (Map.Entry<String, Timer> entry : timers.entrySet())
+		{
+			Timer timer = entry.getValue();
+			long[] samples = timer.sortedWindow();
+			String line = String.format("%s n=%d min=%s p50=%s p95=%s p99=%s max=%s avg=%s",
+				entry.getKey(), timer.count, formatNanos(timer.min),
+				formatNanos(percentile(samples, 0.50)), formatNanos(percentile(samples, 0.95)),
+				formatNanos(percentile(samples, 0.99)), formatNanos(timer.max),
+				formatNanos(timer.total / timer.count));
+			if (timer.allocationCount > 0)
+			{
+				line += " alloc/op=" + formatBytes(timer.allocatedTotal / timer.allocationCount);
+			}
+			lines.add(line);
+		}
+		for (String name : counterNames)
+		{
+			lines.add(name + " = " + counters.get(name).sum());
+		}
+		return lines;
+	}
+
+	public void logSummary()
+	{
+		List<String> lines = snapshot();
+		if (lines.isEmpty())
+		{
+			log.info("No load metrics recorded");
+			return;
+		}
+
+		log.info("Load metrics:");
+		for (String line : lines)
+		{
+			log.info("  {}", line);
+		}
+	}
+
+	private static long percentile(long[] sorted, double percentile)
+	{
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	private static String formatNanos(long nanos)
+	{
+		return String.format("%.2fms", nanos / 1_000_000.0);
+	}
+
+	private static String formatBytes(long bytes)
+	{
+		return bytes < 1024 ? bytes + "B" : String.format("%.1fKB", bytes / 1024.0);
+	}
+
+	private static com.sun.management.ThreadMXBean allocationTrackingBean()
+	{
+		try
+		{
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean)
+			{
+				// Tracking is a JVM-wide setting shared with the client, so it is only read, never switched on
+				com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+				if (allocationBean.isThreadAllocatedMemorySupported())
+				{
+					return allocationBean;
+				}
+			}
+		}
+		catch (UnsupportedOperationException | SecurityException e)
+		{
+			log.debug("Per-thread allocation tracking unavailable", e);
+		}
+		return null;
+	}
+}
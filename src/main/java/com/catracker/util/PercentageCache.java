@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Host-wide copy of the last successfully parsed wiki completion percentages, with the validators
+ * needed to revalidate the page with a conditional request. Every client on the host reads the
+ * same file, so only one of them has to download and parse the page per TTL.
+ */
+@Slf4j
+public class PercentageCache
+{
+	private static final long FETCH_LOCK_POLL_MILLIS = 250;
+
+	/**
+	 * How long a snapshot is used without asking the wiki whether the page changed
+	 */
+	static final long TTL_MILLIS = TimeUnit.HOURS.toMillis(6);
+
+	public static class Snapshot
+	{
+		private final long fetchedAt;
+		private final String etag;
+		private final String lastModified;
+		private final PercentageTable percentages;
+
+		Snapshot(long fetchedAt, String etag, String lastModified, PercentageTable percentages)
+		{
+			this.fetchedAt = fetchedAt;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.percentages = percentages;
+		}
+
+		public boolean isFresh(long now)
+		{
+			return now - fetchedAt < TTL_MILLIS;
+		}
+
+		/**
+		 * @return how long until this snapshot needs revalidating, zero if it already does
+		 */
+		long millisUntilStale(long now)
+		{
+			return Math.max(0, fetchedAt + TTL_MILLIS - now);
+		}
+
+		public String getEtag()
+		{
+			return etag;
+		}
+
+		public String getLastModified()
+		{
+			return lastModified;
+		}
+
+		public PercentageTable getPercentages()
+		{
+			return percentages;
+		}
+
+		/**
+		 * @return this snapshot, confirmed unchanged by the wiki at the given time
+		 */
+		Snapshot revalidated(long now)
+		{
+			return new Snapshot(now, etag, lastModified, percentages);
+		}
+	}
+
+	private final File cacheDir;
+	private final File cacheFile;
+	private final File lockFile;
+
+	public PercentageCache()
+	{
+		this(new File(RuneLite.RUNELITE_DIR, "combat-achievements"));
+	}
+
+	PercentageCache(File cacheDir)
+	{
+		this.cacheDir = cacheDir;
+		this.cacheFile = new File(cacheDir, "percentages.dat");
+		this.lockFile = new File(cacheDir, "percentages.lock");
+	}
+
+	/**
+	 * The host-wide right to fetch from the wiki, released on close
+	 */
+	public static class FetchLock implements AutoCloseable
+	{
+		private final FileChannel channel;
+
+		private FetchLock(FileChannel channel)
+		{
+			this.channel = channel;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			// Closing the channel releases the lock
+			channel.close();
+		}
+	}
+
+	/**
+	 * Take the host-wide fetch lock, waiting for another client's fetch to finish first
+	 *
+	 * @return the held lock, or null if it could not be taken within the timeout
+	 */
+	public FetchLock lockForFetch(long timeoutMillis)
+	{
+		FileChannel channel = null;
+		try
+		{
+			ensureCacheDir();
+			channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			long deadline = System.currentTimeMillis() + timeoutMillis;
+			while (channel.tryLock() == null)
+			{
+				if (System.currentTimeMillis() >= deadline)
+				{
+					log.debug("Another client is still fetching completion percentages, fetching anyway");
+					channel.close();
+					return null;
+				}
+				Thread.sleep(FETCH_LOCK_POLL_MILLIS);
+			}
+			return new FetchLock(channel);
+		}
+		catch (IOException | OverlappingFileLockException e)
+		{
+			log.warn("Failed to take the completion percentage fetch lock", e);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		closeQuietly(channel);
+		return null;
+	}
+
+	/**
+	 * Map the shared file and decode it if another client, or an earlier run, published a newer
+	 * snapshot than the one given. Only the header is read when nothing changed.
+	 *
+	 * @return the newer snapshot, or null if there is none or it can't be read
+	 */
+	public Snapshot readNewerThan(Snapshot current)
+	{
+		if (!cacheFile.exists())
+		{
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ);
+			 FileLock ignored = channel.lock(0, Long.MAX_VALUE, true))
+		{
+			long size = channel.size();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			long fetchedAt = PercentageSnapshotFormat.readFetchedAt(buffer);
+			if (current != null && fetchedAt <= current.fetchedAt)
+			{
+				return null;
+			}
+
+			// Copied out while the shared lock is held, a writer can't change the file underneath
+			PercentageSnapshotFormat.View view = PercentageSnapshotFormat.open(buffer);
+			Snapshot snapshot = new Snapshot(fetchedAt, view.getEtag(), view.getLastModified(), view.toTable());
+			log.debug("Loaded {} shared completion percentages", view.size());
+			return snapshot;
+		}
+		catch (IOException e)
+		{
+			// Ignored until the next fetch overwrites it
+			log.warn("Ignoring unreadable completion percentage cache: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Publish a snapshot to every client on the host. The file is overwritten in place under an
+	 * exclusive lock rather than replaced, since other clients may have it mapped.
+	 */
+	public void write(Snapshot snapshot)
+	{
+		try
+		{
+			ensureCacheDir();
+			ByteBuffer buffer = PercentageSnapshotFormat.encode(snapshot.fetchedAt, snapshot.etag, snapshot.lastModified, snapshot.percentages);
+			try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+				 FileLock ignored = channel.lock())
+			{
+				long position = 0;
+				while (buffer.hasRemaining())
+				{
+					position += channel.write(buffer, position);
+				}
+				// Drop the tail of a larger snapshot written before, while still holding the lock
+				channel.truncate(position);
+				channel.force(false);
+			}
+		}
+		catch (IOException | OverlappingFileLockException e)
+		{
+			log.warn("Failed to write completion percentage cache", e);
+		}
+	}
+
+	private void ensureCacheDir() throws IOException
+	{
+		if (!cacheDir.exists() && !cacheDir.mkdirs())
+		{
+			throw new IOException("Could not create " + cacheDir);
+		}
+	}
+
+	private static void closeQuietly(FileChannel channel)
+	{
+		if (channel == null)
+		{
+			return;
+		}
+		try
+		{
+			channel.close();
+		}
+		catch (IOException e)
+		{
+			log.debug("Failed to close the completion percentage fetch lock", e);
+		}
+	}
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary layout of a percentage snapshot. Lookups by task id only touch the fixed width
+ * entry section, which is sorted by id so it can be binary searched in place in a mapped buffer.
+ *
+ * <pre>
+ * header   int magic, int version, long fetchedAt, int entryCount, int extraLength
+ * entries  entryCount x (int taskId, float percentage), sorted by task id
+ * extra    etag, last-modified, then one task name per entry, each an int byte length
+ *          (-1 for none) followed by UTF-8 bytes
+ * trailer  int CRC32 of everything before it
+ * </pre>
+ */
+final class PercentageSnapshotFormat
+{
+	static final int MAGIC = 0x43415043;
+	static final int VERSION = 4;
+	static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+	static final int ENTRY_SIZE = 4 + 4;
+	private static final int CHECKSUM_SIZE = 4;
+
+	private PercentageSnapshotFormat()
+	{
+	}
+
+	/**
+	 * Read a view over a snapshot, positioned at the start of the buffer. The view reads the
+	 * buffer in place, so it is only valid for as long as the buffer's contents are.
+	 *
+	 * @throws IOException if the snapshot is from another version, truncated or fails its checksum
+	 */
+	static View open(ByteBuffer buffer) throws IOException
+	{
+		long fetchedAt = readFetchedAt(buffer);
+		int entryCount = buffer.getInt(16);
+		int extraLength = buffer.getInt(20);
+		if (entryCount < 0 || extraLength < 0)
+		{
+			throw new IOException("Corrupt percentage snapshot header");
+		}
+
+		long end = HEADER_SIZE + (long) entryCount * ENTRY_SIZE + extraLength;
+		if (end + CHECKSUM_SIZE > buffer.limit())
+		{
+			throw new IOException("Truncated percentage snapshot, expected " + (end + CHECKSUM_SIZE)
+				+ " bytes but found " + buffer.limit());
+		}
+
+		CRC32 crc = new CRC32();
+		ByteBuffer covered = buffer.duplicate();
+		covered.position(0);
+		covered.limit((int) end);
+		crc.update(covered);
+		if ((int) crc.getValue() != buffer.getInt((int) end))
+		{
+			throw new IOException("Percentage snapshot checksum mismatch");
+		}
+
+		return new View(buffer, fetchedAt, entryCount, HEADER_SIZE + entryCount * ENTRY_SIZE, (int) end);
+	}
+
+	/**
+	 * Check only the header, to tell whether the rest is worth validating
+	 */
+	static long readFetchedAt(ByteBuffer buffer) throws IOException
+	{
+		if (buffer.limit() < HEADER_SIZE)
+		{
+			throw new IOException("Truncated percentage snapshot header");
+		}
+
+		int magic = buffer.getInt(0);
+		int version = buffer.getInt(4);
+		if (magic != MAGIC || version != VERSION)
+		{
+			throw new IOException("Unsupported percentage snapshot version " + version);
+		}
+		return buffer.getLong(8);
+	}
+
+	static ByteBuffer encode(long fetchedAt, String etag, String lastModified, PercentageTable percentages)
+	{
+		byte[] etagBytes = toBytes(etag);
+		byte[] lastModifiedBytes = toBytes(lastModified);
+		byte[][] names = new byte[percentages.size()][];
+		int extraLength = stringSize(etagBytes) + stringSize(lastModifiedBytes);
+		for (int i = 0; i < names.length; i++)
+		{
+			names[i] = toBytes(percentages.getName(i));
+			extraLength += stringSize(names[i]);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + names.length * ENTRY_SIZE + extraLength + CHECKSUM_SIZE);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putLong(fetchedAt);
+		buffer.putInt(names.length);
+		buffer.putInt(extraLength);
+
+		// The table already keeps its rows sorted by task id
+		for (int i = 0; i < names.length; i++)
+		{
+			buffer.putInt(percentages.getTaskId(i));
+			buffer.putFloat(percentages.getValue(i));
+		}
+
+		putString(buffer, etagBytes);
+		putString(buffer, lastModifiedBytes);
+		for (byte[] name : names)
+		{
+			putString(buffer, name);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, buffer.position());
+		buffer.putInt((int) crc.getValue());
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * A validated snapshot read in place. Lookups by id allocate nothing.
+	 */
+	static final class View
+	{
+		private final ByteBuffer buffer;
+		private final long fetchedAt;
+		private final int size;
+		private final int extraStart;
+		private final int extraEnd;
+
+		private View(ByteBuffer buffer, long fetchedAt, int size, int extraStart, int extraEnd)
+		{
+			this.buffer = buffer;
+			this.fetchedAt = fetchedAt;
+			this.size = size;
+			this.extraStart = extraStart;
+			this.extraEnd = extraEnd;
+		}
+
+		long getFetchedAt()
+		{
+			return fetchedAt;
+		}
+
+		int size()
+		{
+			return size;
+		}
+
+		int getTaskId(int index)
+		{
+			return buffer.getInt(HEADER_SIZE + index * ENTRY_SIZE);
+		}
+
+		float getValue(int index)
+		{
+			return buffer.getFloat(HEADER_SIZE + index * ENTRY_SIZE + 4);
+		}
+
+		/**
+		 * @return the index of an entry with the task id, or {@code -(insertion point) - 1} if there is none
+		 */
+		int indexOf(int taskId)
+		{
+			int low = 0;
+			int high = size - 1;
+			while (low <= high)
+			{
+				int mid = (low + high) >>> 1;
+				int midId = getTaskId(mid);
+				if (midId < taskId)
+				{
+					low = mid + 1;
+				}
+				else if (midId > taskId)
+				{
+					high = mid - 1;
+				}
+				else
+				{
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		/**
+		 * @return the percentage for the task id, or NaN if there is none
+		 */
+		float get(int taskId)
+		{
+			int index = indexOf(taskId);
+			return index >= 0 ? getValue(index) : Float.NaN;
+		}
+
+		String getEtag() throws IOException
+		{
+			return getString(extraStart);
+		}
+
+		String getLastModified() throws IOException
+		{
+			return getString(skipString(extraStart));
+		}
+
+		/**
+		 * Copy the snapshot out of the buffer, keeping the names encoded until they are needed
+		 */
+		PercentageTable toTable() throws IOException
+		{
+			int[] taskIds = new int[size];
+			float[] values = new float[size];
+			for (int i = 0; i < size; i++)
+			{
+				taskIds[i] = getTaskId(i);
+				values[i] = getValue(i);
+			}
+
+			int namesStart = skipString(skipString(extraStart));
+			byte[] nameBytes = new byte[extraEnd - namesStart];
+			ByteBuffer names = buffer.duplicate();
+			names.position(namesStart);
+			names.get(nameBytes);
+
+			int[] nameOffsets = new int[size];
+			int[] nameLengths = new int[size];
+			int position = namesStart;
+			for (int i = 0; i < size; i++)
+			{
+				nameLengths[i] = buffer.getInt(position);
+				nameOffsets[i] = position + 4 - namesStart;
+				position = skipString(position);
+			}
+			return PercentageTable.fromSnapshot(taskIds, values, nameBytes, nameOffsets, nameLengths);
+		}
+
+		private String getString(int position) throws IOException
+		{
+			int length = buffer.getInt(checkBounds(position, 4));
+			if (length < 0)
+			{
+				return null;
+			}
+
+			byte[] bytes = new byte[length];
+			ByteBuffer string = buffer.duplicate();
+			string.position(checkBounds(position + 4, length));
+			string.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * @return the position just after the string starting at the given one
+		 */
+		private int skipString(int position) throws IOException
+		{
+			int length = buffer.getInt(checkBounds(position, 4));
+			int next = position + 4 + Math.max(0, length);
+			checkBounds(position + 4, next - position - 4);
+			return next;
+		}
+
+		private int checkBounds(int position, int length) throws IOException
+		{
+			if (length < 0 || position < extraStart || (long) position + length > extraEnd)
+			{
+				throw new IOException("Corrupt percentage snapshot string at " + position);
+			}
+			return position;
+		}
+	}
+
+	private static byte[] toBytes(String value)
+	{
+		return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+	}
+
+	private static int stringSize(byte[] bytes)
+	{
+		return 4 + (bytes != null ? bytes.length : 0);
+	}
+
+	private static void putString(ByteBuffer buffer, byte[] bytes)
+	{
+		if (bytes == null)
+		{
+			buffer.putInt(-1);
+			return;
+		}
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable wiki completion percentages, sorted and stored densely by task id. Rows are also kept
+ * by name, exact and normalized, as a fallback for tasks whose wiki id doesn't match the game's.
+ * The name lookups are only built the first time an id misses.
+ */
+public final class PercentageTable
+{
+	public static final PercentageTable EMPTY = new Builder().build();
+
+	private final int[] taskIds;
+	private final float[] values;
+	private final float[] valuesById;
+
+	// Names read from a snapshot stay encoded until they are needed
+	private final String[] names;
+	private final byte[] nameBytes;
+	private final int[] nameOffsets;
+	private final int[] nameLengths;
+	private volatile NameIndex nameIndex;
+
+	private PercentageTable(int[] taskIds, float[] values, String[] names,
+							byte[] nameBytes, int[] nameOffsets, int[] nameLengths)
+	{
+		this.taskIds = taskIds;
+		this.values = values;
+		this.names = names;
+		this.nameBytes = nameBytes;
+		this.nameOffsets = nameOffsets;
+		this.nameLengths = nameLengths;
+
+		// Sorted, so the last id is the largest
+		int maxId = taskIds.length > 0 ? taskIds[taskIds.length - 1] : -1;
+		valuesById = new float[Math.max(0, maxId + 1)];
+		Arrays.fill(valuesById, Float.NaN);
+		for (int i = 0; i < taskIds.length; i++)
+		{
+			if (taskIds[i] >= 0)
+			{
+				valuesById[taskIds[i]] = values[i];
+			}
+		}
+	}
+
+	/**
+	 * Wrap rows already sorted by task id, whose names are UTF-8 encoded in one shared array
+	 *
+	 * @param nameLengths the encoded length of each name, or -1 if it has none
+	 */
+	static PercentageTable fromSnapshot(int[] taskIds, float[] values, byte[] nameBytes, int[] nameOffsets, int[] nameLengths)
+	{
+		return new PercentageTable(taskIds, values, new String[taskIds.length], nameBytes, nameOffsets, nameLengths);
+	}
+
+	public static class Builder
+	{
+		private int[] taskIds = new int[128];
+		private String[] names = new String[128];
+		private double[] values = new double[128];
+		private int size;
+
+		public Builder add(int taskId, String name, double value)
+		{
+			if (size == taskIds.length)
+			{
+				taskIds = Arrays.copyOf(taskIds, size * 2);
+				names = Arrays.copyOf(names, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+			taskIds[size] = taskId;
+			names[size] = name;
+			values[size] = value;
+			size++;
+			return this;
+		}
+
+		public PercentageTable build()
+		{
+			// Sort row indexes by task id, keeping the wiki order for equal ids
+			long[] order = new long[size];
+			for (int i = 0; i < size; i++)
+			{
+				order[i] = ((long) taskIds[i] << 32) | i;
+			}
+			Arrays.sort(order);
+
+			int[] sortedIds = new int[size];
+			String[] sortedNames = new String[size];
+			float[] sortedValues = new float[size];
+			for (int i = 0; i < size; i++)
+			{
+				int row = (int) order[i];
+				sortedIds[i] = taskIds[row];
+				sortedNames[i] = names[row];
+				sortedValues[i] = (float) values[row];
+			}
+			return new PercentageTable(sortedIds, sortedValues, sortedNames, null, null, null);
+		}
+	}
+
+	private static class NameIndex
+	{
+		private final Map<String, Double> byName;
+		private final Map<String, Double> byNormalizedName;
+
+		private NameIndex(PercentageTable table)
+		{
+			byName = new HashMap<>(table.size() * 2);
+			byNormalizedName = new HashMap<>(table.size() * 2);
+			for (int i = 0; i < table.size(); i++)
+			{
+				String name = table.getName(i);
+				if (name != null)
+				{
+					byName.put(name, (double) table.values[i]);
+					byNormalizedName.putIfAbsent(normalizeTaskName(name), (double) table.values[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the percentage for the task id, falling back to its name, or null if neither is known
+	 */
+	public Double get(int taskId, String name)
+	{
+		Double value = getById(taskId);
+		if (value != null || name == null)
+		{
+			return value;
+		}
+
+		NameIndex index = nameIndex();
+		value = index.byName.get(name);
+		return value != null ? value : index.byNormalizedName.get(normalizeTaskName(name));
+	}
+
+	/**
+	 * @return the percentage for the task id, or null if the wiki row has a different or no id
+	 */
+	public Double getById(int taskId)
+	{
+		if (taskId >= 0 && taskId < valuesById.length && !Float.isNaN(valuesById[taskId]))
+		{
+			return (double) valuesById[taskId];
+		}
+		return null;
+	}
+
+	public Double getByName(String name)
+	{
+		return nameIndex().byName.get(name);
+	}
+
+	public int size()
+	{
+		return taskIds.length;
+	}
+
+	public int getTaskId(int index)
+	{
+		return taskIds[index];
+	}
+
+	public String getName(int index)
+	{
+		String name = names[index];
+		if (name == null && nameBytes != null && nameLengths[index] >= 0)
+		{
+			// Racing decodes produce equal strings, so the unsynchronized store is harmless
+			name = new String(nameBytes, nameOffsets[index], nameLengths[index], StandardCharsets.UTF_8);
+			names[index] = name;
+		}
+		return name;
+	}
+
+	public float getValue(int index)
+	{
+		return values[index];
+	}
+
+	private NameIndex nameIndex()
+	{
+		NameIndex index = nameIndex;
+		if (index == null)
+		{
+			index = new NameIndex(this);
+			nameIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Lower case letters and digits, with each run of whitespace collapsed to one space and
+	 * everything else dropped
+	 */
+	static String normalizeTaskName(String name)
+	{
+		StringBuilder normalized = new StringBuilder(name.length());
+		boolean pendingSpace = false;
+		for (int i = 0; i < name.length(); i++)
+		{
+			char c = Character.toLowerCase(name.charAt(i));
+			if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))
+			{
+				if (pendingSpace)
+				{
+					normalized.append(' ');
+					pendingSpace = false;
+				}
+				normalized.append(c);
+			}
+			else if (Character.isWhitespace(c) && normalized.length() > 0)
+			{
+				pendingSpace = true;
+			}
+		}
+		return normalized.toString();
+	}
+}
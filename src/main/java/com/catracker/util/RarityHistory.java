@@ -0,0 +1,524 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Every fetched percentage table, kept in an append-only history file with a per-task index so
+ * one task's series can be read without scanning the history.
+ *
+ * <p>The history file holds one record per fetch, listing only the tasks whose percentage changed:
+ * <pre>
+ * header   int magic, int version
+ * record   int length, long fetchedAt, varint count,
+ *          count x (varint task id delta, zigzag varint hundredths of a percent delta)
+ * </pre>
+ *
+ * <p>The index file is derived from it and rebuilt whenever the two disagree. Each task's changes
+ * form a chain from its head slot back through fixed width entries:
+ * <pre>
+ * header   int magic, int version, long indexed history length, int head capacity
+ * heads    capacity x (int newest entry offset or -1, int newest hundredths)
+ * entries  long fetchedAt, int hundredths, int previous entry offset or -1
+ * </pre>
+ */
+@Slf4j
+public class RarityHistory
+{
+	private static final File HISTORY_DIR = new File(RuneLite.RUNELITE_DIR, "combat-achievements");
+	private static final File DATA_FILE = new File(HISTORY_DIR, "rarity-history.dat");
+	private static final File INDEX_FILE = new File(HISTORY_DIR, "rarity-history.idx");
+	private static final int DATA_MAGIC = 0x43415248;
+	private static final int INDEX_MAGIC = 0x43415249;
+	private static final int VERSION = 1;
+	private static final int DATA_HEADER_SIZE = 4 + 4;
+	private static final int INDEX_HEADER_SIZE = 4 + 4 + 8 + 4;
+	private static final int HEAD_SIZE = 4 + 4;
+	private static final int ENTRY_SIZE = 8 + 4 + 4;
+	private static final int MIN_HEAD_CAPACITY = 1024;
+	private static final int NONE = -1;
+
+	/**
+	 * A task's percentage at each fetch where it changed, oldest first
+	 */
+	public static class Series
+	{
+		public static final Series EMPTY = new Series(new long[0], new float[0]);
+
+		private final long[] timestamps;
+		private final float[] values;
+
+		private Series(long[] timestamps, float[] values)
+		{
+			this.timestamps = timestamps;
+			this.values = values;
+		}
+
+		public int size()
+		{
+			return timestamps.length;
+		}
+
+		public long getTimestamp(int index)
+		{
+			return timestamps[index];
+		}
+
+		public float getValue(int index)
+		{
+			return values[index];
+		}
+	}
+
+	private static class Index
+	{
+		private long dataLength;
+		private int[] heads;
+		private int[] lastHundredths;
+		private long end;
+	}
+
+	/**
+	 * Record a freshly fetched table. Nothing is written if no task's percentage changed.
+	 */
+	public synchronized void append(long fetchedAt, PercentageTable percentages)
+	{
+		try
+		{
+			if (!HISTORY_DIR.exists() && !HISTORY_DIR.mkdirs())
+			{
+				throw new IOException("Could not create " + HISTORY_DIR);
+			}
+
+			// The index lock guards both files against other clients on the host
+			try (FileChannel index = FileChannel.open(INDEX_FILE.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+				 FileLock ignored = index.lock();
+				 FileChannel data = FileChannel.open(DATA_FILE.toPath(), StandardOpenOption.CREATE,
+					 StandardOpenOption.READ, StandardOpenOption.WRITE))
+			{
+				int capacity = percentages.size() > 0 ? percentages.getTaskId(percentages.size() - 1) + 1 : 0;
+				Index state = readIndex(index);
+				if (state == null || state.dataLength != data.size() || state.heads.length < capacity)
+				{
+					state = rebuild(data, index, capacity);
+				}
+				appendRecord(data, index, state, fetchedAt, percentages);
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Failed to append to the rarity history", e);
+		}
+	}
+
+	/**
+	 * @return the task's recorded percentages, following only its own index chain
+	 */
+	public synchronized Series read(int taskId)
+	{
+		if (taskId < 0 || !INDEX_FILE.exists())
+		{
+			return Series.EMPTY;
+		}
+
+		try (FileChannel index = FileChannel.open(INDEX_FILE.toPath(), StandardOpenOption.READ);
+			 FileLock ignored = index.lock(0, Long.MAX_VALUE, true))
+		{
+			ByteBuffer header = readFully(index, 0, INDEX_HEADER_SIZE);
+			if (header.getInt() != INDEX_MAGIC || header.getInt() != VERSION)
+			{
+				return Series.EMPTY;
+			}
+			header.getLong();
+			int capacity = header.getInt();
+			if (taskId >= capacity)
+			{
+				return Series.EMPTY;
+			}
+
+			int offset = readFully(index, INDEX_HEADER_SIZE + (long) taskId * HEAD_SIZE, 4).getInt();
+			long maxEntries = (index.size() - INDEX_HEADER_SIZE - (long) capacity * HEAD_SIZE) / ENTRY_SIZE;
+			long[] timestamps = new long[16];
+			float[] values = new float[16];
+			int count = 0;
+			ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+			while (offset != NONE && count < maxEntries)
+			{
+				entry.clear();
+				readFully(index, offset, entry);
+				if (count == timestamps.length)
+				{
+					timestamps = Arrays.copyOf(timestamps, count * 2);
+					values = Arrays.copyOf(values, count * 2);
+				}
+				timestamps[count] = entry.getLong();
+				values[count] = entry.getInt() / 100f;
+				offset = entry.getInt();
+				count++;
+			}
+
+			// The chain runs newest first
+			long[] orderedTimestamps = new long[count];
+			float[] orderedValues = new float[count];
+			for (int i = 0; i < count; i++)
+			{
+				orderedTimestamps[i] = timestamps[count - 1 - i];
+				orderedValues[i] = values[count - 1 - i];
+			}
+			return new Series(orderedTimestamps, orderedValues);
+		}
+		catch (IOException e)
+		{
+			log.warn("Failed to read the rarity history for task {}", taskId, e);
+			return Series.EMPTY;
+		}
+	}
+
+	private static void appendRecord(FileChannel data, FileChannel index, Index state, long fetchedAt,
+									 PercentageTable percentages) throws IOException
+	{
+		ByteBuffer record = ByteBuffer.allocate(4 + 8 + 5 + percentages.size() * 10);
+		ByteBuffer entries = ByteBuffer.allocate(percentages.size() * ENTRY_SIZE);
+		int[] changedIds = new int[percentages.size()];
+		int[] changedHundredths = new int[percentages.size()];
+		int changed = 0;
+		int previousId = 0;
+		for (int i = 0; i < percentages.size(); i++)
+		{
+			int taskId = percentages.getTaskId(i);
+			// Rows are sorted by id, so a repeated id directly follows the first one
+			if (taskId < 0 || (changed > 0 && changedIds[changed - 1] == taskId))
+			{
+				continue;
+			}
+
+			int hundredths = Math.round(percentages.getValue(i) * 100);
+			int last = state.heads[taskId] != NONE ? state.lastHundredths[taskId] : 0;
+			if (state.heads[taskId] != NONE && last == hundredths)
+			{
+				continue;
+			}
+
+			changedIds[changed] = taskId;
+			changedHundredths[changed] = hundredths;
+			changed++;
+		}
+
+		if (changed == 0)
+		{
+			log.debug("Rarity history unchanged, nothing appended");
+			return;
+		}
+
+		record.putInt(0);
+		record.putLong(fetchedAt);
+		putVarint(record, changed);
+		for (int i = 0; i < changed; i++)
+		{
+			int taskId = changedIds[i];
+			int last = state.heads[taskId] != NONE ? state.lastHundredths[taskId] : 0;
+			putVarint(record, taskId - previousId);
+			putVarint(record, zigzag(changedHundredths[i] - last));
+			previousId = taskId;
+
+			int entryOffset = (int) (state.end + entries.position());
+			entries.putLong(fetchedAt);
+			entries.putInt(changedHundredths[i]);
+			entries.putInt(state.heads[taskId]);
+			state.heads[taskId] = entryOffset;
+			state.lastHundredths[taskId] = changedHundredths[i];
+		}
+		record.putInt(0, record.position() - 4);
+		record.flip();
+		entries.flip();
+
+		// History first and the index header last, so a crash in between only leaves a stale index
+		long dataLength = state.dataLength;
+		writeFully(data, dataLength, record);
+		data.force(false);
+		writeFully(index, state.end, entries);
+		state.dataLength = dataLength + record.limit();
+		state.end += entries.limit();
+		writeFully(index, 0, encodeHeader(state));
+		index.force(false);
+		log.debug("Appended {} changed task percentages to the rarity history", changed);
+	}
+
+	/**
+	 * @return the index, or null if it is missing or from another version
+	 */
+	private static Index readIndex(FileChannel index) throws IOException
+	{
+		long size = index.size();
+		if (size < INDEX_HEADER_SIZE)
+		{
+			return null;
+		}
+
+		ByteBuffer header = readFully(index, 0, INDEX_HEADER_SIZE);
+		if (header.getInt() != INDEX_MAGIC || header.getInt() != VERSION)
+		{
+			return null;
+		}
+
+		Index state = new Index();
+		state.dataLength = header.getLong();
+		int capacity = header.getInt();
+		if (capacity < 0 || INDEX_HEADER_SIZE + (long) capacity * HEAD_SIZE > size)
+		{
+			return null;
+		}
+
+		ByteBuffer heads = readFully(index, INDEX_HEADER_SIZE, capacity * HEAD_SIZE);
+		state.heads = new int[capacity];
+		state.lastHundredths = new int[capacity];
+		for (int i = 0; i < capacity; i++)
+		{
+			state.heads[i] = heads.getInt();
+			state.lastHundredths[i] = heads.getInt();
+		}
+		state.end = size;
+		return state;
+	}
+
+	/**
+	 * Rebuild the index from the history, dropping a record torn by a crash mid-append
+	 */
+	private static Index rebuild(FileChannel data, FileChannel index, int minCapacity) throws IOException
+	{
+		long size = data.size();
+		ByteBuffer history = size >= DATA_HEADER_SIZE ? readFully(data, 0, (int) size) : ByteBuffer.allocate(0);
+		if (size < DATA_HEADER_SIZE || history.getInt() != DATA_MAGIC || history.getInt() != VERSION)
+		{
+			if (size > 0)
+			{
+				log.warn("Discarding an unreadable rarity history");
+			}
+			ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_SIZE);
+			header.putInt(DATA_MAGIC);
+			header.putInt(VERSION);
+			header.flip();
+			data.truncate(0);
+			writeFully(data, 0, header);
+			history = ByteBuffer.allocate(0);
+		}
+
+		int capacity = Math.max(MIN_HEAD_CAPACITY, minCapacity);
+		int[] heads = new int[capacity];
+		int[] lastHundredths = new int[capacity];
+		Arrays.fill(heads, NONE);
+		ByteBuffer entries = ByteBuffer.allocate(ENTRY_SIZE * 64);
+		int records = 0;
+
+		while (history.remaining() >= 4)
+		{
+			int recordStart = history.position();
+			try
+			{
+				int length = history.getInt();
+				if (length < 0 || length > history.remaining())
+				{
+					throw new IOException("Torn rarity history record");
+				}
+
+				ByteBuffer record = history.slice();
+				record.limit(length);
+				long fetchedAt = record.getLong();
+				int count = getVarint(record);
+				int taskId = 0;
+				for (int i = 0; i < count; i++)
+				{
+					taskId += getVarint(record);
+					int delta = unzigzag(getVarint(record));
+					if (taskId < 0)
+					{
+						throw new IOException("Corrupt rarity history record");
+					}
+					if (taskId >= capacity)
+					{
+						int oldCapacity = capacity;
+						capacity = Math.max(taskId + 1, capacity * 2);
+						heads = Arrays.copyOf(heads, capacity);
+						lastHundredths = Arrays.copyOf(lastHundredths, capacity);
+						Arrays.fill(heads, oldCapacity, capacity, NONE);
+					}
+
+					int hundredths = (heads[taskId] != NONE ? lastHundredths[taskId] : 0) + delta;
+					if (entries.remaining() < ENTRY_SIZE)
+					{
+						entries.flip();
+						entries = ByteBuffer.allocate(entries.capacity() * 2).put(entries);
+					}
+					// Offsets are relative to the entry section until the capacity is final
+					int entryOffset = entries.position();
+					entries.putLong(fetchedAt);
+					entries.putInt(hundredths);
+					entries.putInt(heads[taskId]);
+					heads[taskId] = entryOffset;
+					lastHundredths[taskId] = hundredths;
+				}
+				history.position(recordStart + 4 + length);
+				records++;
+			}
+			catch (IOException | BufferUnderflowException e)
+			{
+				log.warn("Truncating the rarity history at a damaged record after {} records", records);
+				data.truncate(recordStart);
+				history.limit(recordStart);
+				break;
+			}
+		}
+
+		if (history.hasRemaining())
+		{
+			// Fewer than four bytes of a torn length prefix
+			data.truncate(history.position());
+		}
+
+		// Rebase the relative entry offsets now the head table size is known
+		long entriesStart = INDEX_HEADER_SIZE + (long) capacity * HEAD_SIZE;
+		entries.flip();
+		for (int position = 0; position < entries.limit(); position += ENTRY_SIZE)
+		{
+			int previous = entries.getInt(position + 12);
+			if (previous != NONE)
+			{
+				entries.putInt(position + 12, (int) (previous + entriesStart));
+			}
+		}
+
+		Index state = new Index();
+		state.dataLength = data.size();
+		state.heads = heads;
+		state.lastHundredths = lastHundredths;
+		for (int i = 0; i < capacity; i++)
+		{
+			if (heads[i] != NONE)
+			{
+				heads[i] = (int) (heads[i] + entriesStart);
+			}
+		}
+		state.end = entriesStart + entries.limit();
+
+		index.truncate(0);
+		writeFully(index, entriesStart, entries);
+		writeFully(index, 0, encodeHeader(state));
+		index.force(false);
+		log.debug("Rebuilt the rarity history index from {} records", records);
+		return state;
+	}
+
+	private static ByteBuffer encodeHeader(Index state)
+	{
+		ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE + state.heads.length * HEAD_SIZE);
+		header.putInt(INDEX_MAGIC);
+		header.putInt(VERSION);
+		header.putLong(state.dataLength);
+		header.putInt(state.heads.length);
+		for (int i = 0; i < state.heads.length; i++)
+		{
+			header.putInt(state.heads[i]);
+			header.putInt(state.lastHundredths[i]);
+		}
+		header.flip();
+		return header;
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		readFully(channel, position, buffer);
+		return buffer;
+	}
+
+	private static void readFully(FileChannel channel, long position, ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0)
+			{
+				throw new IOException("Unexpected end of " + channel);
+			}
+		}
+		buffer.flip();
+	}
+
+	private static void writeFully(FileChannel channel, long position, ByteBuffer buffer) throws IOException
+	{
+		long written = 0;
+		while (buffer.hasRemaining())
+		{
+			written += channel.write(buffer, position + written);
+		}
+	}
+
+	private static int zigzag(int value)
+	{
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value)
+	{
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void putVarint(ByteBuffer buffer, int value)
+	{
+		while ((value & ~0x7f) != 0)
+		{
+			buffer.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	private static int getVarint(ByteBuffer buffer) throws IOException
+	{
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			byte b = buffer.get();
+			value |= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint in the rarity history");
+	}
+}
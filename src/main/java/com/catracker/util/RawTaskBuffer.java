@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+/**
+ * Task struct params copied verbatim on the client thread, one row per struct in parallel
+ * arrays. Type names, boss names and model objects are resolved later on a worker thread.
+ */
+final class RawTaskBuffer
+{
+	final int[] ids;
+	final int[] tierIndexes;
+	final int[] typeIds;
+	final int[] bossIds;
+	final String[] names;
+	final String[] descriptions;
+	int size;
+
+	RawTaskBuffer(int capacity)
+	{
+		ids = new int[capacity];
+		tierIndexes = new int[capacity];
+		typeIds = new int[capacity];
+		bossIds = new int[capacity];
+		names = new String[capacity];
+		descriptions = new String[capacity];
+	}
+
+	void add(int id, int tierIndex, int typeId, int bossId, String name, String description)
+	{
+		ids[size] = id;
+		tierIndexes[size] = tierIndex;
+		typeIds[size] = typeId;
+		bossIds[size] = bossId;
+		names[size] = name;
+		descriptions[size] = description;
+		size++;
+	}
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming extractor for the rows of the wiki's All tasks table. Reads the page tag by tag
+ * from a {@link Reader} and reports the task id, name and completion percentage of every
+ * {@code data-ca-task-id} row, keeping only the current tag and cell text in memory.
+ */
+public class WikiPercentageParser
+{
+	// Column of the task name link and of the completion percentage within a task row
+	private static final int NAME_CELL = 1;
+	private static final int PERCENTAGE_CELL = 5;
+
+	// Tags and captured text longer than this are truncated, none of the values we need come close
+	private static final int MAX_BUFFER = 4096;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	// Task ids index the percentage table directly, rows claiming anything larger are skipped
+	static final int MAX_TASK_ID = 0xFFFF;
+
+	@FunctionalInterface
+	public interface RowConsumer
+	{
+		void accept(int taskId, String name, double percentage);
+	}
+
+	private final Reader reader;
+	private final RowConsumer consumer;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int bufferPos;
+	private int bufferLength;
+
+	private final StringBuilder tag = new StringBuilder();
+	private final StringBuilder text = new StringBuilder();
+
+	private boolean inRow;
+	private int taskId;
+	private int cellIndex;
+	private boolean inNameLink;
+	private String name;
+	private double percentage;
+	private boolean hasPercentage;
+
+	private long charsRead;
+	private int rowsRead;
+
+	public WikiPercentageParser(Reader reader, RowConsumer consumer)
+	{
+		this.reader = reader;
+		this.consumer = consumer;
+	}
+
+	/**
+	 * Read the page to the end, calling the consumer once per task row with a name and percentage
+	 */
+	public void parse() throws IOException
+	{
+		int c;
+		while ((c = read()) != -1)
+		{
+			if (c == '<')
+			{
+				readTag();
+				handleTag();
+			}
+			else if (isCapturingText() && text.length() < MAX_BUFFER)
+			{
+				text.append((char) c);
+			}
+		}
+	}
+
+	private boolean isCapturingText()
+	{
+		return inRow && (inNameLink || cellIndex == PERCENTAGE_CELL);
+	}
+
+	/**
+	 * @return the number of rows reported to the consumer
+	 */
+	public int getRowsRead()
+	{
+		return rowsRead;
+	}
+
+	public long getCharsRead()
+	{
+		return charsRead;
+	}
+
+	private void readTag() throws IOException
+	{
+		tag.setLength(0);
+		int c;
+		while ((c = read()) != -1 && c != '>')
+		{
+			if (tag.length() < MAX_BUFFER)
+			{
+				tag.append((char) c);
+			}
+
+			if (tag.length() == 3 && tag.charAt(0) == '!' && tag.charAt(1) == '-' && tag.charAt(2) == '-')
+			{
+				skipPast("-->");
+				tag.setLength(0);
+				return;
+			}
+		}
+	}
+
+	private void handleTag() throws IOException
+	{
+		if (tag.length() == 0)
+		{
+			return;
+		}
+
+		boolean closing = tag.charAt(0) == '/';
+		int nameStart = closing ? 1 : 0;
+		int nameEnd = nameStart;
+		while (nameEnd < tag.length() && !Character.isWhitespace(tag.charAt(nameEnd)) && tag.charAt(nameEnd) != '/')
+		{
+			nameEnd++;
+		}
+
+		if (!closing && (tagNameIs(nameStart, nameEnd, "script") || tagNameIs(nameStart, nameEnd, "style")))
+		{
+			// Their contents may contain '<' that isn't markup
+			skipPast("</" + tag.substring(nameStart, nameEnd));
+			return;
+		}
+
+		if (tagNameIs(nameStart, nameEnd, "tr"))
+		{
+			if (closing)
+			{
+				endRow();
+			}
+			else
+			{
+				startRow();
+			}
+			return;
+		}
+
+		if (!inRow)
+		{
+			return;
+		}
+
+		if (tagNameIs(nameStart, nameEnd, "td"))
+		{
+			if (closing)
+			{
+				endCell();
+			}
+			else
+			{
+				// Closing tags are optional in HTML
+				endCell();
+				cellIndex++;
+			}
+		}
+		else if (tagNameIs(nameStart, nameEnd, "a"))
+		{
+			if (closing)
+			{
+				if (inNameLink)
+				{
+					String linkText = text.toString().trim();
+					if (!linkText.isEmpty())
+					{
+						name = linkText;
+					}
+					inNameLink = false;
+				}
+			}
+			else if (cellIndex == NAME_CELL && name == null && indexOf("title=\"") >= 0)
+			{
+				inNameLink = true;
+				text.setLength(0);
+			}
+		}
+		else if (inNameLink && !closing)
+		{
+			// Only plain link text counts as the task name
+			inNameLink = false;
+		}
+	}
+
+	private void startRow()
+	{
+		int idStart = indexOf("data-ca-task-id=\"");
+		if (idStart < 0)
+		{
+			inRow = false;
+			return;
+		}
+
+		int id = 0;
+		int i = idStart + "data-ca-task-id=\"".length();
+		int digits = 0;
+		while (i < tag.length() && tag.charAt(i) >= '0' && tag.charAt(i) <= '9')
+		{
+			// Stop accumulating once out of range so a long id can't overflow into a valid one
+			if (id <= MAX_TASK_ID)
+			{
+				id = id * 10 + (tag.charAt(i) - '0');
+			}
+			i++;
+			digits++;
+		}
+
+		inRow = digits > 0 && id <= MAX_TASK_ID && i < tag.length() && tag.charAt(i) == '"';
+		taskId = id;
+		cellIndex = -1;
+		inNameLink = false;
+		name = null;
+		hasPercentage = false;
+	}
+
+	private void endCell()
+	{
+		if (cellIndex == PERCENTAGE_CELL && !hasPercentage)
+		{
+			hasPercentage = parsePercentage();
+		}
+		inNameLink = false;
+		text.setLength(0);
+	}
+
+	private void endRow()
+	{
+		endCell();
+		if (inRow && name != null && hasPercentage)
+		{
+			consumer.accept(taskId, name, percentage);
+			rowsRead++;
+		}
+		inRow = false;
+	}
+
+	/**
+	 * Find the first number followed by '%' in the captured cell text
+	 */
+	private boolean parsePercentage()
+	{
+		for (int percent = text.indexOf("%"); percent >= 0; percent = text.indexOf("%", percent + 1))
+		{
+			int start = percent;
+			while (start > 0 && (Character.isDigit(text.charAt(start - 1)) || text.charAt(start - 1) == '.'))
+			{
+				start--;
+			}
+
+			if (start < percent)
+			{
+				try
+				{
+					percentage = Double.parseDouble(text.substring(start, percent));
+					return true;
+				}
+				catch (NumberFormatException e)
+				{
+					// Not a number after all, keep looking
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean tagNameIs(int start, int end, String tagName)
+	{
+		if (end - start != tagName.length())
+		{
+			return false;
+		}
+
+		for (int i = 0; i < tagName.length(); i++)
+		{
+			if (Character.toLowerCase(tag.charAt(start + i)) != tagName.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int indexOf(String value)
+	{
+		return tag.indexOf(value);
+	}
+
+	private void skipPast(String terminator) throws IOException
+	{
+		int matched = 0;
+		int c;
+		while ((c = read()) != -1)
+		{
+			if (Character.toLowerCase((char) c) == Character.toLowerCase(terminator.charAt(matched)))
+			{
+				matched++;
+				if (matched == terminator.length())
+				{
+					return;
+				}
+			}
+			else
+			{
+				matched = Character.toLowerCase((char) c) == Character.toLowerCase(terminator.charAt(0)) ? 1 : 0;
+			}
+		}
+	}
+
+	private int read() throws IOException
+	{
+		if (bufferPos == bufferLength)
+		{
+			bufferLength = reader.read(buffer, 0, buffer.length);
+			bufferPos = 0;
+			if (bufferLength <= 0)
+			{
+				bufferLength = 0;
+				return -1;
+			}
+			charsRead += bufferLength;
+		}
+		return buffer[bufferPos++];
+	}
+}
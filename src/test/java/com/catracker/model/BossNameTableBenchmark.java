@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import com.catracker.util.Benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Cost of resolving the boss name of every task in a full size task set. Before the table, the
+ * loader called getEnum and getStringValue once per task; now it decodes the enum once per load
+ * and indexes the table. The client isn't available here, so its enum is modeled by a cache
+ * lookup followed by a scan of the enum's keys.
+ */
+public class BossNameTableBenchmark
+{
+	private static final int TASK_COUNT = 640;
+	private static final int BOSS_COUNT = 110;
+	private static final int BOSS_ENUM_ID = 3971;
+
+	/**
+	 * Stand-in for the client's enum, which finds a value by scanning its keys
+	 */
+	private static final class ClientEnum
+	{
+		private final int[] keys;
+		private final String[] values;
+
+		private ClientEnum(int[] keys, String[] values)
+		{
+			this.keys = keys;
+			this.values = values;
+		}
+
+		String getStringValue(int key)
+		{
+			for (int i = 0; i < keys.length; i++)
+			{
+				if (keys[i] == key)
+				{
+					return values[i];
+				}
+			}
+			return "null";
+		}
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		Random random = new Random(4);
+		int[] keys = new int[BOSS_COUNT];
+		String[] values = new String[BOSS_COUNT];
+		for (int i = 0; i < BOSS_COUNT; i++)
+		{
+			keys[i] = i;
+			values[i] = "Boss Number " + i;
+		}
+
+		int[] taskBossIds = new int[TASK_COUNT];
+		for (int i = 0; i < TASK_COUNT; i++)
+		{
+			taskBossIds[i] = random.nextInt(BOSS_COUNT);
+		}
+
+		// Boxed once, the client's own cache is keyed by primitives and allocates nothing
+		Integer bossEnumId = BOSS_ENUM_ID;
+		Map<Integer, ClientEnum> enumCache = new HashMap<>();
+		enumCache.put(bossEnumId, new ClientEnum(keys, values));
+		BossNameTable table = BossNameTable.decode(keys, values);
+		System.out.printf("%d tasks over %d bosses%n", TASK_COUNT, BOSS_COUNT);
+
+		Benchmark.run("enum lookup per task (before)", () ->
+		{
+			String[] names = new String[TASK_COUNT];
+			for (int i = 0; i < TASK_COUNT; i++)
+			{
+				ClientEnum bossEnum = enumCache.get(bossEnumId);
+				names[i] = bossEnum != null ? bossEnum.getStringValue(taskBossIds[i]) : BossNameTable.UNKNOWN;
+			}
+			return names;
+		});
+		Benchmark.run("decode table once", () -> BossNameTable.decode(keys, values));
+		Benchmark.run("resolve names from table", () ->
+		{
+			String[] names = new String[TASK_COUNT];
+			for (int i = 0; i < TASK_COUNT; i++)
+			{
+				names[i] = table.getName(taskBossIds[i]);
+			}
+			return names;
+		});
+		Benchmark.run("lower case names, per task (before)", () ->
+		{
+			String[] names = new String[TASK_COUNT];
+			for (int i = 0; i < TASK_COUNT; i++)
+			{
+				names[i] = table.getName(taskBossIds[i]).toLowerCase();
+			}
+			return names;
+		});
+		Benchmark.run("lower case names from table", () ->
+		{
+			String[] names = new String[TASK_COUNT];
+			for (int i = 0; i < TASK_COUNT; i++)
+			{
+				names[i] = table.getLowerCaseName(taskBossIds[i]);
+			}
+			return names;
+		});
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class CompletionMasksTest
+{
+	@Test
+	public void emptyMasksInitialize()
+	{
+		// EMPTY is built in the static initializer, it must not run before the tier table exists
+		assertNotNull(CompletionMasks.EMPTY);
+		assertEquals(0, CompletionMasks.EMPTY.getTaskCount());
+		assertEquals(0, CompletionMasks.EMPTY.getCompletedCount(CompletionState.EMPTY, CombatAchievement.TierLevel.EASY));
+	}
+
+	@Test
+	public void countsCompletedTasksPerTier()
+	{
+		List<CombatAchievement> achievements = Arrays.asList(
+			new CombatAchievement(new TaskDefinition(1, "Noxious Foe", "Kill an Aberrant Spectre.", "Easy", "Kill Count", 0, "Aberrant Spectre")),
+			new CombatAchievement(new TaskDefinition(2, "Fighting as Intended", "Kill Barrows.", "Easy", "Restriction", 1, "Barrows")),
+			new CombatAchievement(new TaskDefinition(40, "Jad Slayer", "Kill TzTok-Jad.", "Hard", "Kill Count", 2, "TzTok-Jad")));
+		CompletionMasks masks = CompletionMasks.build(achievements);
+
+		// Tasks 2 and 40 completed
+		CompletionState state = CompletionState.EMPTY.withWord(0, 1 << 2).withWord(1, 1 << 8);
+
+		assertEquals(3, masks.getTaskCount());
+		assertEquals(1, masks.getCompletedCount(state, CombatAchievement.TierLevel.EASY));
+		assertEquals(1, masks.getCompletedCount(state, CombatAchievement.TierLevel.HARD));
+		assertEquals(1, masks.getBossCompletedCount(state, 1));
+		assertEquals(0, masks.getBossCompletedCount(state, 0));
+	}
+}
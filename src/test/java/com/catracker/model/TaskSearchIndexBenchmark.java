@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.model;
+
+import com.catracker.util.Benchmark;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Search cost for 1, 3 and 10 character queries over the task list of the saved All tasks page
+ * and over a synthetic list ten times larger, against scanning every task with
+ * {@link CombatAchievement#matchesSearch} as the panel did before the index.
+ */
+public class TaskSearchIndexBenchmark
+{
+	private static final String FIXTURE = "/com/catracker/util/wiki-all-tasks.html";
+	private static final Pattern ROW = Pattern.compile("<tr data-ca-task-id=\"(\\d+)\"[^>]*>(.*?)</tr>", Pattern.DOTALL);
+	private static final Pattern TAG = Pattern.compile("<[^>]*>");
+	private static final String[] QUERIES = {"s", "kil", "grandmaste", "speed bar"};
+	private static final int SCALE = 10;
+
+	public static void main(String[] args) throws Exception
+	{
+		List<CombatAchievement> tasks = readTasks();
+		List<CombatAchievement> scaled = scale(tasks);
+		run("real", tasks);
+		run(SCALE + "x", scaled);
+	}
+
+	private static void run(String label, List<CombatAchievement> tasks) throws Exception
+	{
+		TaskSearchIndex index = TaskSearchIndex.build(tasks);
+		System.out.printf("%s: %,d tasks%n", label, tasks.size());
+		Benchmark.run(label + ", build index", () -> TaskSearchIndex.build(tasks));
+		for (String query : QUERIES)
+		{
+			System.out.printf("  \"%s\" matches %,d with the index, %,d by scanning%n", query,
+				index.search(query).cardinality(), scan(tasks, query).size());
+			Benchmark.run(label + ", index \"" + query + "\"", () -> index.search(query));
+			Benchmark.run(label + ", scan \"" + query + "\" (before)", () -> scan(tasks, query));
+		}
+	}
+
+	private static List<CombatAchievement> scan(List<CombatAchievement> tasks, String query)
+	{
+		List<CombatAchievement> matches = new ArrayList<>();
+		for (CombatAchievement task : tasks)
+		{
+			if (task.matchesSearch(query))
+			{
+				matches.add(task);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * The monster, name, description, type and tier of each task row in the fixture
+	 */
+	private static List<CombatAchievement> readTasks() throws Exception
+	{
+		String html;
+		try (InputStream in = TaskSearchIndexBenchmark.class.getResourceAsStream(FIXTURE))
+		{
+			html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+
+		List<CombatAchievement> tasks = new ArrayList<>();
+		Matcher row = ROW.matcher(html);
+		while (row.find())
+		{
+			String[] cells = row.group(2).split("</td>");
+			String tier = text(cells[4]).split(" ")[0];
+			tasks.add(new CombatAchievement(new TaskDefinition(Integer.parseInt(row.group(1)), text(cells[1]),
+				text(cells[2]), tier, text(cells[3]), 0, text(cells[0]))));
+		}
+		return tasks;
+	}
+
+	private static String text(String cell)
+	{
+		return TAG.matcher(cell).replaceAll("")
+			.replace("&amp;", "&").replace("&#x27;", "'").replace("&lt;", "<")
+			.trim();
+	}
+
+	/**
+	 * Copies of every task under new ids, each with a made up word in its name so the token
+	 * dictionary grows with the list as it would with real tasks
+	 */
+	private static List<CombatAchievement> scale(List<CombatAchievement> tasks)
+	{
+		Random random = new Random(25);
+		int idStride = tasks.get(tasks.size() - 1).getId() + 1;
+		List<CombatAchievement> scaled = new ArrayList<>(tasks.size() * SCALE);
+		for (int copy = 0; copy < SCALE; copy++)
+		{
+			for (CombatAchievement task : tasks)
+			{
+				StringBuilder word = new StringBuilder();
+				for (int i = 0; i < 6; i++)
+				{
+					word.append((char) ('a' + random.nextInt(26)));
+				}
+				scaled.add(new CombatAchievement(new TaskDefinition(copy * idStride + task.getId(),
+					task.getName() + " " + word, task.getDescription(), task.getTier(), task.getType(), 0,
+					task.getBossName())));
+			}
+		}
+		return scaled;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.ui;
+
+import com.catracker.model.CombatAchievement;
+import com.catracker.model.CompletionState;
+import com.catracker.model.TaskCatalog;
+import com.catracker.model.TaskDefinition;
+import com.catracker.model.TaskPercentages;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TaskFilterTest
+{
+	private final TaskCatalog catalog = TaskCatalog.build(1, Arrays.asList(
+		new TaskDefinition(1, "Fight Caves Veteran", "Complete the Fight Caves once.", "Easy", "Kill Count", 0, "TzTok-Jad"),
+		new TaskDefinition(2, "Jad Slayer", "Kill TzTok-Jad without taking damage.", "Hard", "Perfection", 0, "TzTok-Jad"),
+		new TaskDefinition(3, "Barrows Novice", "Open the Barrows chest 10 times.", "Easy", "Kill Count", 1, "Barrows")));
+
+	private TaskFilter filter(String search, String status, String sort, boolean ascending,
+		CompletionState state, TaskPercentages percentages)
+	{
+		return new TaskFilter(search, Collections.emptyMap(), status, "All Types", sort, ascending,
+			catalog.getSearchIndex(), state, percentages);
+	}
+
+	private static List<Integer> ids(List<CombatAchievement> achievements)
+	{
+		return achievements.stream().map(CombatAchievement::getId).collect(Collectors.toList());
+	}
+
+	@Test
+	public void filtersOnTheCapturedProgressNotTheSharedAchievements()
+	{
+		// Task 2 completed in the snapshot, while the live achievement still says otherwise
+		CompletionState state = CompletionState.EMPTY.withWord(0, 1 << 2);
+		List<CombatAchievement> achievements = catalog.getAchievements();
+
+		assertEquals(Collections.singletonList(2),
+			ids(filter("", "Completed", "Name", true, state, TaskPercentages.EMPTY).apply(achievements)));
+		assertEquals(Arrays.asList(3, 1),
+			ids(filter("", "Incomplete", "Name", true, state, TaskPercentages.EMPTY).apply(achievements)));
+	}
+
+	@Test
+	public void sortsByTheCapturedPercentagesWithMissingLast()
+	{
+		float[] byId = {Float.NaN, 12.5f, Float.NaN, 80f};
+		TaskPercentages percentages = TaskPercentages.wrap(byId);
+
+		assertEquals(Arrays.asList(1, 3, 2), ids(filter("", "All", "Wiki Completion %", false,
+			CompletionState.EMPTY, percentages).apply(catalog.getAchievements())));
+		assertEquals(Arrays.asList(3, 1, 2), ids(filter("", "All", "Wiki Completion %", true,
+			CompletionState.EMPTY, percentages).apply(catalog.getAchievements())));
+	}
+
+	@Test
+	public void searchMatchesEveryTermAsAWordPrefix()
+	{
+		List<CombatAchievement> achievements = catalog.getAchievements();
+		assertEquals(Arrays.asList(1, 2), ids(filter("jad", "All", "Name", true,
+			CompletionState.EMPTY, TaskPercentages.EMPTY).apply(achievements)));
+		assertEquals(Collections.singletonList(2), ids(filter("jad dam", "All", "Name", true,
+			CompletionState.EMPTY, TaskPercentages.EMPTY).apply(achievements)));
+		assertEquals(Collections.emptyList(), ids(filter("ok-j", "All", "Name", true,
+			CompletionState.EMPTY, TaskPercentages.EMPTY).apply(achievements)));
+	}
+
+	@Test
+	public void cancelledQueryReturnsNull()
+	{
+		assertNull(filter("", "All", "Name", true, CompletionState.EMPTY, TaskPercentages.EMPTY)
+			.apply(catalog.getAchievements(), () -> true));
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal single threaded harness for the main-driven benchmarks under src/test. Each case is
+ * warmed up, then run back to back in batches for a fixed time, reporting its throughput and,
+ * where the JVM is already tracking allocations, the bytes allocated per op. Run one with
+ * {@code ./gradlew benchmark -PbenchmarkClass=<class>}.
+ */
+public final class Benchmark
+{
+	private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("benchmark.warmupSeconds", 2));
+	private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("benchmark.seconds", 3));
+	private static final long BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+
+	@FunctionalInterface
+	public interface Op
+	{
+		/**
+		 * @return anything derived from the work, so it can't be optimized away
+		 */
+		Object run() throws Exception;
+	}
+
+	// Keeps every result reachable for the JIT
+	private static volatile int sink;
+
+	private Benchmark()
+	{
+	}
+
+	/**
+	 * Measure one case and print a line with its ops/s, mean time per op and bytes per op
+	 */
+	public static void run(String name, Op op) throws Exception
+	{
+		loop(op, WARMUP_NANOS);
+
+		long threadId = Thread.currentThread().getId();
+		long allocatedBefore = allocated(threadId);
+		long start = System.nanoTime();
+		long ops = loop(op, MEASURE_NANOS);
+		long elapsed = System.nanoTime() - start;
+		long allocatedAfter = allocated(threadId);
+
+		String bytesPerOp = allocatedBefore < 0 || allocatedAfter < 0
+			? "n/a"
+			: String.format("%,d", (allocatedAfter - allocatedBefore) / ops);
+		System.out.printf("%-48s %,14.1f ops/s %,12.2f us/op %14s bytes/op%n",
+			name, ops * 1e9 / elapsed, elapsed / 1e3 / ops, bytesPerOp);
+	}
+
+	private static long loop(Op op, long nanos) throws Exception
+	{
+		long ops = 0;
+		long deadline = System.nanoTime() + nanos;
+		int batch = 1;
+		int hash = 0;
+		long now = System.nanoTime();
+		while (now < deadline)
+		{
+			long batchStart = now;
+			for (int i = 0; i < batch; i++)
+			{
+				hash += System.identityHashCode(op.run());
+			}
+			ops += batch;
+			now = System.nanoTime();
+			// Fast ops run in bigger batches so reading the clock stays out of the numbers
+			if (now - batchStart < BATCH_NANOS)
+			{
+				batch *= 2;
+			}
+		}
+		sink = hash;
+		return ops;
+	}
+
+	/**
+	 * @return the thread's allocated bytes, or -1 unless the JVM is already tracking them
+	 */
+	private static long allocated(long threadId)
+	{
+		if (THREAD_BEAN == null || !THREAD_BEAN.isThreadAllocatedMemoryEnabled())
+		{
+			return -1;
+		}
+		return THREAD_BEAN.getThreadAllocatedBytes(threadId);
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean()
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+		{
+			return (com.sun.management.ThreadMXBean) bean;
+		}
+		return null;
+	}
+}
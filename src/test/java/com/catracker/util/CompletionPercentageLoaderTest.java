@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import com.catracker.model.CombatAchievement;
+import com.catracker.model.TaskDefinition;
+import com.catracker.model.TaskPercentages;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompletionPercentageLoaderTest
+{
+	private static final int TASK_COUNT = 600;
+	private static final int READS = 5000;
+
+	private File cacheDir;
+	private IoExecutor ioExecutor;
+	private CompletionPercentageLoader loader;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		cacheDir = Files.createTempDirectory("percentage-cache").toFile();
+		LoadMetrics metrics = new LoadMetrics();
+		ioExecutor = new IoExecutor(metrics);
+		loader = new CompletionPercentageLoader(new OkHttpClient(), new PercentageCache(cacheDir),
+			new RarityHistory(), ioExecutor, metrics);
+	}
+
+	@After
+	public void tearDown()
+	{
+		ioExecutor.shutdown();
+		File[] files = cacheDir.listFiles();
+		if (files != null)
+		{
+			for (File file : files)
+			{
+				file.delete();
+			}
+		}
+		cacheDir.delete();
+	}
+
+	private static PercentageTable uniformTable(float value)
+	{
+		PercentageTable.Builder builder = new PercentageTable.Builder();
+		for (int id = 0; id < TASK_COUNT; id++)
+		{
+			builder.add(id, "Task " + id, value);
+		}
+		return builder.build();
+	}
+
+	private static List<CombatAchievement> achievements()
+	{
+		List<CombatAchievement> achievements = new ArrayList<>();
+		for (int id = 0; id < TASK_COUNT; id++)
+		{
+			achievements.add(new CombatAchievement(new TaskDefinition(id, "Task " + id, "", "Easy", "Kill Count", 0, "Boss")));
+		}
+		return achievements;
+	}
+
+	@Test
+	public void hydrationSeesWholeTablesWhilePublishing() throws InterruptedException
+	{
+		PercentageTable oldTable = uniformTable(10f);
+		PercentageTable newTable = uniformTable(20f);
+		List<CombatAchievement> achievements = achievements();
+		loader.publish(new PercentageCache.Snapshot(0, null, null, oldTable));
+
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicInteger publishes = new AtomicInteger();
+		AtomicReference<Throwable> publisherFailure = new AtomicReference<>();
+		Thread publisher = new Thread(() ->
+		{
+			try
+			{
+				while (!done.get())
+				{
+					int count = publishes.incrementAndGet();
+					loader.publish(new PercentageCache.Snapshot(count, null, null, count % 2 == 0 ? oldTable : newTable));
+				}
+			}
+			catch (Throwable t)
+			{
+				publisherFailure.set(t);
+			}
+		}, "percentage-publisher");
+		publisher.start();
+
+		try
+		{
+			for (int read = 0; read < READS; read++)
+			{
+				TaskPercentages percentages = loader.hydrateAchievements(achievements);
+				float first = percentages.get(0);
+				assertTrue("Read " + read + " saw " + first, first == 10f || first == 20f);
+				for (int id = 1; id < TASK_COUNT; id++)
+				{
+					assertEquals("Read " + read + " mixed tables at task " + id, first, percentages.get(id), 0f);
+				}
+			}
+		}
+		finally
+		{
+			done.set(true);
+			publisher.join();
+		}
+
+		assertNull(publisherFailure.get());
+		assertTrue(publishes.get() > 1);
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import com.catracker.model.CombatAchievement;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LoadCoordinatorTest
+{
+	private final List<String> delivered = new ArrayList<>();
+
+	private Consumer<List<CombatAchievement>> callback(String name)
+	{
+		return achievements -> delivered.add(name);
+	}
+
+	private static void deliver(List<Consumer<List<CombatAchievement>>> callbacks)
+	{
+		for (Consumer<List<CombatAchievement>> callback : callbacks)
+		{
+			callback.accept(Collections.emptyList());
+		}
+	}
+
+	@Test
+	public void coalescesRequestsBeforeTheTick()
+	{
+		LoadCoordinator coordinator = new LoadCoordinator();
+		coordinator.request(callback("a"));
+		coordinator.request();
+		coordinator.request(callback("b"));
+
+		long generation = coordinator.startPending();
+		assertEquals(-1, coordinator.startPending());
+		deliver(coordinator.complete(generation));
+		assertEquals(List.of("a", "b"), delivered);
+	}
+
+	@Test
+	public void callbackRegisteredDuringLoadWaitsForTheNextLoad()
+	{
+		LoadCoordinator coordinator = new LoadCoordinator();
+		coordinator.request(callback("early"));
+		long first = coordinator.startPending();
+
+		// Registered after the first load read its data
+		coordinator.request(callback("late"));
+		deliver(coordinator.complete(first));
+		assertEquals(List.of("early"), delivered);
+
+		long second = coordinator.startPending();
+		assertTrue(second > first);
+		deliver(coordinator.complete(second));
+		assertEquals(List.of("early", "late"), delivered);
+	}
+
+	@Test
+	public void staleLoadServesNobody()
+	{
+		LoadCoordinator coordinator = new LoadCoordinator();
+		coordinator.request(callback("a"));
+		long first = coordinator.startPending();
+		coordinator.request();
+		long second = coordinator.startPending();
+
+		assertNull(coordinator.complete(first));
+		deliver(coordinator.complete(second));
+		assertEquals(List.of("a"), delivered);
+	}
+
+	@Test
+	public void failedLoadKeepsCallbacksForTheNextLoad()
+	{
+		LoadCoordinator coordinator = new LoadCoordinator();
+		coordinator.request(callback("a"));
+		long first = coordinator.startPending();
+		coordinator.fail(first);
+		assertTrue(delivered.isEmpty());
+
+		coordinator.request();
+		long second = coordinator.startPending();
+		deliver(coordinator.complete(second));
+		assertEquals(List.of("a"), delivered);
+		assertSame(Collections.emptyList(), coordinator.complete(second));
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+public class PercentageCacheTest
+{
+	private File cacheDir;
+	private PercentageCache cache;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		cacheDir = Files.createTempDirectory("percentage-cache").toFile();
+		cache = new PercentageCache(cacheDir);
+	}
+
+	@After
+	public void tearDown()
+	{
+		File[] files = cacheDir.listFiles();
+		if (files != null)
+		{
+			for (File file : files)
+			{
+				file.delete();
+			}
+		}
+		cacheDir.delete();
+	}
+
+	private static PercentageTable table(int taskCount)
+	{
+		PercentageTable.Builder builder = new PercentageTable.Builder();
+		for (int id = 0; id < taskCount; id++)
+		{
+			builder.add(id, "Task " + id, id % 100);
+		}
+		return builder.build();
+	}
+
+	@Test
+	public void smallerSnapshotReplacesTheWholeFile()
+	{
+		cache.write(new PercentageCache.Snapshot(1, "\"large\"", null, table(600)));
+		PercentageTable small = table(3);
+		cache.write(new PercentageCache.Snapshot(2, "\"small\"", null, small));
+
+		long encodedSize = PercentageSnapshotFormat.encode(2, "\"small\"", null, small).remaining();
+		assertEquals(encodedSize, new File(cacheDir, "percentages.dat").length());
+
+		PercentageCache.Snapshot read = cache.readNewerThan(null);
+		assertEquals("\"small\"", read.getEtag());
+		assertEquals(3, read.getPercentages().size());
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PercentageSnapshotFormatTest
+{
+	private static final long FETCHED_AT = 1_700_000_000_000L;
+
+	private static PercentageTable table()
+	{
+		// Added out of id order, the table sorts them
+		return new PercentageTable.Builder()
+			.add(412, "Perfect Phantom Muspah", 0.8)
+			.add(7, "Noxious Foe", 67.5)
+			.add(95, "D\u00e9j\u00e0 Vu", 12.25)
+			.build();
+	}
+
+	private static ByteBuffer truncate(ByteBuffer buffer, int length)
+	{
+		ByteBuffer truncated = buffer.duplicate();
+		truncated.limit(length);
+		return truncated;
+	}
+
+	private static void assertRejected(ByteBuffer buffer)
+	{
+		try
+		{
+			PercentageSnapshotFormat.open(buffer);
+			fail("Opened a snapshot of " + buffer.limit() + " bytes");
+		}
+		catch (IOException expected)
+		{
+			// Rejected as it should be
+		}
+	}
+
+	@Test
+	public void roundTripsTableAndValidators() throws IOException
+	{
+		PercentageTable original = table();
+		ByteBuffer buffer = PercentageSnapshotFormat.encode(FETCHED_AT, "\"abc123\"", "Tue, 14 Oct 2025 10:00:00 GMT", original);
+
+		PercentageSnapshotFormat.View view = PercentageSnapshotFormat.open(buffer);
+		assertEquals(FETCHED_AT, view.getFetchedAt());
+		assertEquals(FETCHED_AT, PercentageSnapshotFormat.readFetchedAt(buffer));
+		assertEquals("\"abc123\"", view.getEtag());
+		assertEquals("Tue, 14 Oct 2025 10:00:00 GMT", view.getLastModified());
+
+		PercentageTable copy = view.toTable();
+		assertEquals(original.size(), copy.size());
+		for (int i = 0; i < original.size(); i++)
+		{
+			assertEquals(original.getTaskId(i), copy.getTaskId(i));
+			assertEquals(original.getName(i), copy.getName(i));
+			assertEquals(original.getValue(i), copy.getValue(i), 0f);
+		}
+		assertEquals(12.25, copy.getByName("D\u00e9j\u00e0 Vu"), 0.0001);
+	}
+
+	@Test
+	public void roundTripsMissingValidators() throws IOException
+	{
+		ByteBuffer buffer = PercentageSnapshotFormat.encode(FETCHED_AT, null, null, table());
+
+		PercentageSnapshotFormat.View view = PercentageSnapshotFormat.open(buffer);
+		assertNull(view.getEtag());
+		assertNull(view.getLastModified());
+		assertEquals(3, view.toTable().size());
+	}
+
+	@Test
+	public void roundTripsEmptyTable() throws IOException
+	{
+		ByteBuffer buffer = PercentageSnapshotFormat.encode(FETCHED_AT, null, null, PercentageTable.EMPTY);
+
+		PercentageSnapshotFormat.View view = PercentageSnapshotFormat.open(buffer);
+		assertEquals(0, view.size());
+		assertEquals(0, view.toTable().size());
+		assertTrue(Float.isNaN(view.get(7)));
+	}
+
+	@Test
+	public void rejectsTruncationInEverySection()
+	{
+		ByteBuffer buffer = PercentageSnapshotFormat.encode(FETCHED_AT, "\"abc123\"", null, table());
+		int entriesStart = PercentageSnapshotFormat.HEADER_SIZE;
+		int extraStart = entriesStart + 3 * PercentageSnapshotFormat.ENTRY_SIZE;
+		int trailerStart = buffer.limit() - 4;
+
+		assertRejected(truncate(buffer, 0));
+		assertRejected(truncate(buffer, entriesStart - 1));
+		assertRejected(truncate(buffer, entriesStart + PercentageSnapshotFormat.ENTRY_SIZE + 3));
+		assertRejected(truncate(buffer, extraStart));
+		assertRejected(truncate(buffer, extraStart + 6));
+		assertRejected(truncate(buffer, trailerStart));
+		assertRejected(truncate(buffer, buffer.limit() - 1));
+	}
+
+	@Test
+	public void rejectsFlippedByte()
+	{
+		ByteBuffer buffer = PercentageSnapshotFormat.encode(FETCHED_AT, "\"abc123\"", null, table());
+		// A percentage's low byte, past the header so only the checksum can catch it
+		int position = PercentageSnapshotFormat.HEADER_SIZE + 4;
+		buffer.put(position, (byte) (buffer.get(position) ^ 0x01));
+
+		assertRejected(buffer);
+	}
+
+	@Test
+	public void rejectsOtherVersions()
+	{
+		ByteBuffer buffer = PercentageSnapshotFormat.encode(FETCHED_AT, null, null, table());
+		buffer.putInt(4, PercentageSnapshotFormat.VERSION - 1);
+
+		assertRejected(buffer);
+	}
+
+	@Test
+	public void findsEntriesById() throws IOException
+	{
+		PercentageSnapshotFormat.View view = PercentageSnapshotFormat.open(
+			PercentageSnapshotFormat.encode(FETCHED_AT, null, null, table()));
+
+		assertEquals(0, view.indexOf(7));
+		assertEquals(1, view.indexOf(95));
+		assertEquals(2, view.indexOf(412));
+		assertEquals(67.5f, view.get(7), 0f);
+		assertEquals(0.8f, view.get(412), 0f);
+	}
+
+	@Test
+	public void missesReportTheInsertionPoint() throws IOException
+	{
+		PercentageSnapshotFormat.View view = PercentageSnapshotFormat.open(
+			PercentageSnapshotFormat.encode(FETCHED_AT, null, null, table()));
+
+		assertEquals(-1, view.indexOf(1));
+		assertEquals(-2, view.indexOf(50));
+		assertEquals(-3, view.indexOf(200));
+		assertEquals(-4, view.indexOf(1000));
+		assertTrue(Float.isNaN(view.get(50)));
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import com.catracker.model.CombatAchievement;
+import com.catracker.model.TaskDefinition;
+import okhttp3.OkHttpClient;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput and allocation of the wiki percentage path on the saved All tasks page: parsing
+ * the page, against the regex path the streaming parser replaced, extracting the cells of the
+ * task rows alone, and hydrating achievements when their ids hit, when they all fall back to
+ * the name lookup and when they miss entirely.
+ */
+public class WikiPercentageBenchmark
+{
+	// Far past any real task id, so the id lookup misses
+	private static final int UNKNOWN_ID_OFFSET = 10_000;
+
+	public static void main(String[] args) throws Exception
+	{
+		String html = WikiPercentageParserTest.readFixture();
+		PercentageTable.Builder fixtureBuilder = new PercentageTable.Builder();
+		new WikiPercentageParser(new StringReader(html), fixtureBuilder::add).parse();
+		PercentageTable table = fixtureBuilder.build();
+		String rows = html.substring(html.indexOf("<tr data-ca-task-id"), html.indexOf("</tbody></table>"));
+		System.out.printf("%s: %,d chars, %,d in task rows, %d rows%n", WikiPercentageParserTest.FIXTURE,
+			html.length(), rows.length(), table.size());
+
+		Benchmark.run("parse page, streaming", () -> parse(html));
+		Benchmark.run("parse page, regex (before streaming)", () -> WikiPercentageParserTest.parseWithRegex(html));
+		Benchmark.run("extract cells, task rows only", () -> parse(rows));
+
+		File cacheDir = Files.createTempDirectory("percentage-benchmark").toFile();
+		LoadMetrics metrics = new LoadMetrics();
+		IoExecutor ioExecutor = new IoExecutor(metrics);
+		try
+		{
+			CompletionPercentageLoader loader = new CompletionPercentageLoader(new OkHttpClient(),
+				new PercentageCache(cacheDir), new RarityHistory(), ioExecutor, metrics);
+			List<CombatAchievement> achievements = achievements(table, false);
+			List<CombatAchievement> renamed = achievements(table, true);
+
+			loader.publish(new PercentageCache.Snapshot(System.currentTimeMillis(), null, null, table));
+			Benchmark.run("hydrate, ids hit", () -> loader.hydrateAchievements(achievements));
+
+			// The same rows under ids no achievement has, so every lookup takes the name path
+			PercentageTable.Builder shifted = new PercentageTable.Builder();
+			for (int i = 0; i < table.size(); i++)
+			{
+				shifted.add(table.getTaskId(i) + UNKNOWN_ID_OFFSET, table.getName(i), table.getValue(i));
+			}
+			loader.publish(new PercentageCache.Snapshot(System.currentTimeMillis(), null, null, shifted.build()));
+			Benchmark.run("hydrate, ids miss, names hit", () -> loader.hydrateAchievements(achievements));
+			Benchmark.run("hydrate, ids and names miss", () -> loader.hydrateAchievements(renamed));
+		}
+		finally
+		{
+			ioExecutor.shutdown();
+			File[] files = cacheDir.listFiles();
+			if (files != null)
+			{
+				for (File file : files)
+				{
+					file.delete();
+				}
+			}
+			cacheDir.delete();
+		}
+	}
+
+	private static PercentageTable parse(String html) throws Exception
+	{
+		PercentageTable.Builder builder = new PercentageTable.Builder();
+		new WikiPercentageParser(new StringReader(html), builder::add).parse();
+		return builder.build();
+	}
+
+	/**
+	 * One achievement per table row, optionally under a name the table doesn't have
+	 */
+	private static List<CombatAchievement> achievements(PercentageTable table, boolean renamed)
+	{
+		List<CombatAchievement> achievements = new ArrayList<>(table.size());
+		for (int i = 0; i < table.size(); i++)
+		{
+			String name = renamed ? table.getName(i) + " (Renamed)" : table.getName(i);
+			achievements.add(new CombatAchievement(new TaskDefinition(table.getTaskId(i), name, "", "Easy",
+				"Kill Count", 0, "")));
+		}
+		return achievements;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025, Ethan Hubbartt <ehubbartt@gmail.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.catracker.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class WikiPercentageParserTest
+{
+	/**
+	 * Full size copy of the All tasks page markup
+	 */
+	static final String FIXTURE = "wiki-all-tasks.html";
+	static final int FIXTURE_ROWS = 640;
+
+	static String readFixture() throws IOException
+	{
+		try (InputStream in = WikiPercentageParserTest.class.getResourceAsStream(FIXTURE))
+		{
+			assertNotNull("Missing fixture " + FIXTURE, in);
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	static List<String> parse(Reader reader) throws IOException
+	{
+		List<String> rows = new ArrayList<>();
+		new WikiPercentageParser(reader, (taskId, name, percentage) -> rows.add(row(taskId, name, percentage))).parse();
+		return rows;
+	}
+
+	private static String row(int taskId, String name, double percentage)
+	{
+		return taskId + " | " + name + " | " + percentage;
+	}
+
+	/**
+	 * The row regex and per-cell patterns the loader used before the streaming parser, also
+	 * reporting the task id each row carries
+	 */
+	static List<String> parseWithRegex(String html)
+	{
+		List<String> rows = new ArrayList<>();
+		Matcher rowMatcher = Pattern.compile("<tr[^>]*data-ca-task-id=\"(\\d+)\"[^>]*>(.*?)</tr>", Pattern.DOTALL).matcher(html);
+		while (rowMatcher.find())
+		{
+			String[] cells = rowMatcher.group(2).split("</td>");
+			if (cells.length < 6)
+			{
+				continue;
+			}
+
+			Matcher name = Pattern.compile("<a[^>]*title=\"([^\"]+)\"[^>]*>([^<]+)</a>").matcher(cells[1]);
+			Matcher percentage = Pattern.compile("([0-9.]+)%").matcher(cells[5]);
+			if (name.find() && percentage.find())
+			{
+				rows.add(row(Integer.parseInt(rowMatcher.group(1)), name.group(2).trim(), Double.parseDouble(percentage.group(1))));
+			}
+		}
+		return rows;
+	}
+
+	@Test
+	public void matchesRegexPathOnSavedPage() throws IOException
+	{
+		String html = readFixture();
+
+		List<String> expected = parseWithRegex(html);
+		List<String> actual = parse(new StringReader(html));
+
+		assertEquals(FIXTURE_ROWS, expected.size());
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void streamsFromTheResponseEncoding() throws IOException
+	{
+		List<String> rows;
+		try (Reader reader = new InputStreamReader(getClass().getResourceAsStream(FIXTURE), StandardCharsets.UTF_8))
+		{
+			rows = parse(reader);
+		}
+
+		assertEquals(FIXTURE_ROWS, rows.size());
+		assertEquals(parseWithRegex(readFixture()), rows);
+	}
+
+	@Test
+	public void skipsMarkupOutsideTaskRows() throws IOException
+	{
+		String html = "<script>if (a<b) { x = '<tr data-ca-task-id=\"9\">'; }</script>"
+			+ "<!-- <tr data-ca-task-id=\"8\"> -->"
+			+ "<table><tr><th>Monster</th><th>Name</th></tr>"
+			+ "<tr data-ca-task-id=\"3\"><td>Barrows</td><td><a href=\"/w/Defence_Matters\" title=\"Defence Matters\">Defence Matters</a>"
+			+ "<td>Kill a brother</td><td>Restriction</td><td>Easy</td><td>&lt;0.1%</td></tr>"
+			+ "<tr data-ca-task-id=\"4\"><td>Obor</td><td><a href=\"/w/Sleeping_Giant\" title=\"Sleeping Giant\">Sleeping Giant</a></td>"
+			+ "<td>Kill Obor</td><td>Kill Count</td><td>Easy</td><td>n/a</td></tr></table>";
+
+		assertEquals(List.of(row(3, "Defence Matters", 0.1)), parse(new StringReader(html)));
+	}
+
+	@Test
+	public void skipsRowsWithOutOfRangeIds() throws IOException
+	{
+		String html = "<table>"
+			+ "<tr data-ca-task-id=\"4294967299\"><td>Obor</td><td><a href=\"/w/Sleeping_Giant\" title=\"Sleeping Giant\">Sleeping Giant</a></td>"
+			+ "<td>Kill Obor</td><td>Kill Count</td><td>Easy</td><td>5.0%</td></tr>"
+			+ "<tr data-ca-task-id=\"" + (WikiPercentageParser.MAX_TASK_ID + 1) + "\"><td>Obor</td><td><a href=\"/w/Obor_Champion\" title=\"Obor Champion\">Obor Champion</a></td>"
+			+ "<td>Kill Obor</td><td>Kill Count</td><td>Easy</td><td>6.0%</td></tr>"
+			+ "<tr data-ca-task-id=\"" + WikiPercentageParser.MAX_TASK_ID + "\"><td>Obor</td><td><a href=\"/w/Back_to_Sleep\" title=\"Back to Sleep\">Back to Sleep</a></td>"
+			+ "<td>Kill Obor</td><td>Kill Count</td><td>Easy</td><td>7.0%</td></tr></table>";
+
+		assertEquals(List.of(row(WikiPercentageParser.MAX_TASK_ID, "Back to Sleep", 7.0)), parse(new StringReader(html)));
+	}
+}